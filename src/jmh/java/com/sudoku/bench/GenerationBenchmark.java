@@ -0,0 +1,39 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GenerationStrategy;
+import com.sudoku.model.SudokuGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+    @Param({"9", "16"})
+    private int size;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private DifficultyLevel difficulty;
+
+    @Param({"BACKTRACKING", "TRANSFORMATION"})
+    private GenerationStrategy strategy;
+
+    private SudokuGrid grid;
+
+    @Setup
+    public void setUp() {
+        grid = new SudokuGrid(size);
+        grid.setGenerationStrategy(strategy);
+    }
+
+    @Benchmark
+    public SudokuGrid generatePuzzle() {
+        grid.generatePuzzle(difficulty);
+        return grid;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.Hint;
+import com.sudoku.model.SudokuGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridBenchmark {
+    @Param({"9", "16"})
+    private int size;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private DifficultyLevel difficulty;
+
+    private SudokuGrid grid;
+    private int cell;
+
+    @Setup
+    public void setUp() {
+        grid = new SudokuGrid(size);
+        grid.generatePuzzle(difficulty);
+    }
+
+    @Benchmark
+    public boolean isValidMove() {
+        int index = cell++ % (size * size * size);
+        return grid.isValidMove(index / (size * size), (index / size) % size, index % size + 1);
+    }
+
+    @Benchmark
+    public Optional<Hint> getHint() {
+        return grid.getHint();
+    }
+
+    @Benchmark
+    public boolean isSolved() {
+        return grid.isSolved();
+    }
+}
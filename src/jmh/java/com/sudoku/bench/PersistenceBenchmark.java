@@ -0,0 +1,52 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GameState;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.FileHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+    @Param({"9", "16"})
+    private int size;
+
+    private GameState state;
+    private Path saveFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        SudokuGrid grid = new SudokuGrid(size);
+        grid.generatePuzzle(DifficultyLevel.MEDIUM);
+        state = new GameState(grid, 123);
+        saveFile = Files.createTempFile("sudoku-bench", ".dat");
+        FileHandler.saveGame(state, saveFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saveFile);
+    }
+
+    @Benchmark
+    public GameState saveGame() throws IOException {
+        FileHandler.saveGame(state, saveFile);
+        return state;
+    }
+
+    @Benchmark
+    public Optional<GameState> loadGame() {
+        return FileHandler.loadGame(saveFile);
+    }
+}
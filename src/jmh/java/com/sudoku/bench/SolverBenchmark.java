@@ -0,0 +1,48 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.BitmaskSolver;
+import com.sudoku.model.DancingLinksSolver;
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.Solver;
+import com.sudoku.model.SudokuGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+    @Param({"9", "16"})
+    private int size;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private DifficultyLevel difficulty;
+
+    @Param({"DANCING_LINKS", "BITMASK"})
+    private String engine;
+
+    private Solver solver;
+    private int[][] puzzle;
+
+    @Setup
+    public void setUp() {
+        SudokuGrid grid = new SudokuGrid(size);
+        grid.generatePuzzle(difficulty);
+        puzzle = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                puzzle[i][j] = grid.getValue(i, j);
+            }
+        }
+        solver = "BITMASK".equals(engine) ? new BitmaskSolver(size) : new DancingLinksSolver(size);
+    }
+
+    @Benchmark
+    public int countSolutions() {
+        return solver.countSolutions(puzzle, 2);
+    }
+}
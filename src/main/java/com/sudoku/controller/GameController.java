@@ -3,26 +3,69 @@ package com.sudoku.controller;
 import com.sudoku.model.*;
 import com.sudoku.utils.FileHandler;
 import com.sudoku.utils.Logger;
+import com.sudoku.utils.Metrics;
 import com.sudoku.view.SudokuGUI;
 
+import javax.swing.SwingUtilities;
 import java.util.Optional;
-import java.util.Stack;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public class GameController {
+    private static final int GRID_SIZE = Integer.getInteger("sudoku.size", 9);
+    private static final int POOL_LOW_WATERMARK = Integer.getInteger("sudoku.pool.low", 2);
+    private static final int POOL_HIGH_WATERMARK = Integer.getInteger("sudoku.pool.high", 8);
+    private static final int HISTORY_CAPACITY = Integer.getInteger("sudoku.history.capacity", 4096);
+
     private SudokuGrid grid;
     private final TimerLogic timer;
     private SudokuGUI gui;
     private DifficultyLevel difficulty;
-    private final Stack<GameState> undoStack;
-    private final Stack<GameState> redoStack;
+    private final MoveHistory history;
+    private final PuzzlePool puzzlePool;
+    private final ExecutorService generationExecutor;
+    private final ExecutorService analysisExecutor;
+    private final Executor edt;
+    private volatile long newGameRequest;
+    private volatile long hintRequest;
+    private CompletableFuture<GameState> pendingGame;
+    private CompletableFuture<Optional<Hint>> pendingHint;
+    private int gameId;
+    private int busyCount;
+    private SudokuGrid analysisGrid;
+    private int analysisGameId = -1;
+    private boolean showingConflicts;
 
     public GameController() {
-        this.grid = new SudokuGrid(9);
+        this.grid = new SudokuGrid(GRID_SIZE);
         this.difficulty = DifficultyLevel.EASY;
-        this.undoStack = new Stack<>();
-        this.redoStack = new Stack<>();
+        this.history = new MoveHistory(HISTORY_CAPACITY);
         TimerLogic tempTimer = new TimerLogic(e -> updateTimerDisplay());
         this.timer = tempTimer;
+        this.puzzlePool = new PuzzlePool(POOL_LOW_WATERMARK, POOL_HIGH_WATERMARK);
+        for (DifficultyLevel level : DifficultyLevel.values()) {
+            puzzlePool.prefill(GRID_SIZE, level);
+        }
+        this.generationExecutor = daemonExecutor("game-generation");
+        this.analysisExecutor = daemonExecutor("game-analysis");
+        this.edt = SwingUtilities::invokeLater;
+        Metrics.gauge("history.undo.depth", history::getUndoDepth);
+        Metrics.gauge("history.redo.depth", history::getRedoDepth);
+        Metrics.gauge("pool.hits", puzzlePool::getHits);
+        Metrics.gauge("pool.misses", puzzlePool::getMisses);
+    }
+
+    private static ExecutorService daemonExecutor(String name) {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     private void updateTimerDisplay() {
@@ -35,24 +78,90 @@ public class GameController {
         this.gui = gui;
     }
 
-    public void startNewGame() {
-        grid = new SudokuGrid(9);
-        grid.generatePuzzle(difficulty);
-        undoStack.clear();
-        redoStack.clear();
-        timer.reset();
-        timer.start();
-        saveState();
-        updateGUI();
+    public CompletableFuture<GameState> startNewGame() {
+        long request = ++newGameRequest;
+        if (pendingGame != null) {
+            pendingGame.cancel(false);
+        }
+        DifficultyLevel level = difficulty;
+        setBusy(true);
+        CompletableFuture<GameState> future = CompletableFuture.supplyAsync(() -> {
+            if (request != newGameRequest) {
+                throw new CancellationException();
+            }
+            return puzzlePool.take(GRID_SIZE, level);
+        }, generationExecutor);
+        pendingGame = future;
+        future.whenCompleteAsync((state, error) -> {
+            setBusy(false);
+            if (request != newGameRequest || isCancelled(error)) {
+                return;
+            }
+            pendingGame = null;
+            if (error != null) {
+                Logger.error("Failed to generate puzzle", error);
+                gui.showMessage("Failed to generate puzzle: " + error.getMessage());
+                return;
+            }
+            grid = new SudokuGrid(GRID_SIZE);
+            grid.loadState(state);
+            gameChanged();
+            timer.reset();
+            timer.start();
+            updateGUI();
+        }, edt);
+        return future;
+    }
+
+    private void gameChanged() {
+        gameId++;
+        hintRequest++;
+        history.clear();
+    }
+
+    private static boolean isCancelled(Throwable error) {
+        return error instanceof CancellationException
+                || (error instanceof CompletionException && error.getCause() instanceof CancellationException);
+    }
+
+    private SudokuGrid analysisGrid(int game, GameState snapshot) {
+        int size = snapshot.getGridState().length;
+        if (analysisGrid == null || analysisGameId != game || analysisGrid.getSize() != size) {
+            analysisGrid = new SudokuGrid(size);
+            analysisGrid.loadState(snapshot);
+            analysisGameId = game;
+            return analysisGrid;
+        }
+        int[][] values = snapshot.getGridState();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (analysisGrid.getValue(i, j) != values[i][j]) {
+                    analysisGrid.setValue(i, j, values[i][j]);
+                }
+            }
+        }
+        return analysisGrid;
+    }
+
+    private void setBusy(boolean busy) {
+        busyCount += busy ? 1 : -1;
+        if (gui != null) {
+            gui.setBusy(busyCount > 0);
+        }
     }
 
     public void updateCell(int row, int col, int value) {
-        if (grid.isValidMove(row, col, value)) {
-            grid.setValue(row, col, value);
-            saveState();
-            updateGUI();
-            checkWinCondition();
+        if (value < 0 || value > grid.getSize() || grid.isOriginal(row, col)) {
+            return;
+        }
+        int oldValue = grid.getValue(row, col);
+        if (oldValue == value) {
+            return;
         }
+        grid.setValue(row, col, value);
+        history.record(row * grid.getSize() + col, oldValue, value, timer.getElapsedSeconds());
+        updateGUI();
+        checkWinCondition();
     }
 
     public void checkWinCondition() {
@@ -62,14 +171,73 @@ public class GameController {
         }
     }
 
-    public void provideHint() {
-        Optional<Hint> hint = grid.getHint();
-        hint.ifPresent(h -> {
-            String validNumbers = h.getValidNumbers().toString();
-            gui.showMessage("Valid numbers for cell (" + (h.getRow() + 1) + "," + 
-                          (h.getCol() + 1) + "): " + validNumbers);
-            gui.highlightCell(h.getRow(), h.getCol());
-        });
+    public CompletableFuture<Set<Integer>> checkSolution() {
+        GameState snapshot = new GameState(grid, 0);
+        int game = gameId;
+        setBusy(true);
+        CompletableFuture<Set<Integer>> future = CompletableFuture.supplyAsync(
+                () -> analysisGrid(game, snapshot).getConflictingCells(), analysisExecutor);
+        future.whenCompleteAsync((conflicts, error) -> {
+            setBusy(false);
+            if (error != null) {
+                Logger.error("Failed to check solution", error);
+                return;
+            }
+            if (game != gameId) {
+                return;
+            }
+            gui.highlightConflicts(conflicts);
+            showingConflicts = !conflicts.isEmpty();
+            if (grid.isSolved()) {
+                checkWinCondition();
+            } else if (!conflicts.isEmpty()) {
+                gui.showMessage("Some cells conflict with each other. They are highlighted.");
+            } else {
+                int remaining = grid.getSize() * grid.getSize() - grid.getFilledCount();
+                gui.showMessage("No conflicts so far. " + remaining + " cells left to fill.");
+            }
+        }, edt);
+        return future;
+    }
+
+    public CompletableFuture<Optional<Hint>> provideHint() {
+        Metrics.counter("hint.requests").increment();
+        long request = ++hintRequest;
+        if (pendingHint != null) {
+            pendingHint.cancel(false);
+        }
+        GameState snapshot = new GameState(grid, 0);
+        int game = gameId;
+        setBusy(true);
+        CompletableFuture<Optional<Hint>> future = CompletableFuture.supplyAsync(() -> {
+            if (request != hintRequest) {
+                throw new CancellationException();
+            }
+            return analysisGrid(game, snapshot).getHint();
+        }, analysisExecutor);
+        pendingHint = future;
+        future.whenCompleteAsync((hint, error) -> {
+            setBusy(false);
+            if (request != hintRequest || isCancelled(error)) {
+                return;
+            }
+            pendingHint = null;
+            if (error != null) {
+                Logger.error("Failed to compute hint", error);
+                return;
+            }
+            hint.ifPresent(h -> {
+                if (h.getTechnique() != null) {
+                    gui.showMessage(h.toString());
+                } else {
+                    String validNumbers = h.getValidNumbers().toString();
+                    gui.showMessage("Valid numbers for cell (" + (h.getRow() + 1) + "," + 
+                                  (h.getCol() + 1) + "): " + validNumbers);
+                }
+                gui.highlightCell(h.getRow(), h.getCol());
+            });
+        }, edt);
+        return future;
     }
 
     public void setDifficulty(DifficultyLevel difficulty) {
@@ -94,9 +262,7 @@ public class GameController {
                 GameState state = savedState.get();
                 grid.loadState(state);
                 timer.setElapsedSeconds(state.getElapsedTime());
-                undoStack.clear();
-                redoStack.clear();
-                saveState();
+                gameChanged();
                 updateGUI();
                 gui.showMessage("Game loaded successfully!");
             } else {
@@ -108,31 +274,14 @@ public class GameController {
         }
     }
 
-    private void saveState() {
-        undoStack.push(new GameState(grid, timer.getElapsedSeconds()));
-        redoStack.clear();
-    }
-
     public void undo() {
-        if (!undoStack.isEmpty()) {
-            GameState currentState = new GameState(grid, timer.getElapsedSeconds());
-            redoStack.push(currentState);
-            
-            GameState previousState = undoStack.pop();
-            grid.loadState(previousState);
-            timer.setElapsedSeconds(previousState.getElapsedTime());
+        if (history.undo(grid)) {
             updateGUI();
         }
     }
 
     public void redo() {
-        if (!redoStack.isEmpty()) {
-            GameState currentState = new GameState(grid, timer.getElapsedSeconds());
-            undoStack.push(currentState);
-            
-            GameState nextState = redoStack.pop();
-            grid.loadState(nextState);
-            timer.setElapsedSeconds(nextState.getElapsedTime());
+        if (history.redo(grid)) {
             updateGUI();
         }
     }
@@ -140,9 +289,21 @@ public class GameController {
     private void updateGUI() {
         if (gui != null) {
             gui.updateGrid(grid);
+            if (grid.hasConflicts() || showingConflicts) {
+                gui.highlightConflicts(grid.getConflictingCells());
+                showingConflicts = grid.hasConflicts();
+            }
         }
     }
 
+    public MoveHistory getHistory() {
+        return history;
+    }
+
+    public PuzzlePool getPuzzlePool() {
+        return puzzlePool;
+    }
+
     public int getGridSize() {
         return grid.getSize();
     }
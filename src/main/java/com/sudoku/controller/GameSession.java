@@ -0,0 +1,137 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.GameState;
+import com.sudoku.model.Hint;
+import com.sudoku.model.SudokuGrid;
+
+import java.util.Optional;
+
+public class GameSession {
+    private final String id;
+    private final int size;
+    private final int subgridSize;
+    private final byte[] values;
+    private final long[] originals;
+    private final String puzzleId;
+    private final MoveHistory history;
+    private final int baseSeconds;
+    private final long resumedAt;
+    private volatile long lastAccess;
+
+    public GameSession(String id, GameState state, int historyCapacity) {
+        int[][] grid = state.getGridState();
+        boolean[][] originalCells = state.getOriginalCells();
+        this.id = id;
+        this.size = grid.length;
+        this.subgridSize = (int) Math.sqrt(size);
+        this.values = new byte[size * size];
+        this.originals = new long[(size * size + 63) / 64];
+        for (int cell = 0; cell < size * size; cell++) {
+            values[cell] = (byte) grid[cell / size][cell % size];
+            if (originalCells[cell / size][cell % size]) {
+                originals[cell >>> 6] |= 1L << cell;
+            }
+        }
+        this.puzzleId = state.getPuzzleId();
+        this.history = new MoveHistory(historyCapacity);
+        this.baseSeconds = state.getElapsedTime();
+        this.resumedAt = System.currentTimeMillis();
+        this.lastAccess = resumedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean place(int row, int col, int value) {
+        if (row < 0 || row >= size || col < 0 || col >= size || value < 0 || value > size) {
+            return false;
+        }
+        int cell = row * size + col;
+        // Conflicting values are accepted like in the desktop game; isSolved() rejects them.
+        if (isOriginal(cell)) {
+            return false;
+        }
+        int oldValue = values[cell];
+        values[cell] = (byte) value;
+        history.record(cell, oldValue, value, getElapsedSeconds());
+        return true;
+    }
+
+    public boolean undo() {
+        return history.undo(values);
+    }
+
+    public boolean redo() {
+        return history.redo(values);
+    }
+
+    // Hints need the full constraint state, so a grid is built only for the call.
+    public Optional<Hint> getHint() {
+        SudokuGrid grid = new SudokuGrid(size);
+        grid.loadState(toGameState());
+        return grid.getHint();
+    }
+
+    public boolean isSolved() {
+        for (int unit = 0; unit < size; unit++) {
+            long row = 0;
+            long col = 0;
+            long box = 0;
+            for (int k = 0; k < size; k++) {
+                int r = (unit / subgridSize) * subgridSize + k / subgridSize;
+                int c = (unit % subgridSize) * subgridSize + k % subgridSize;
+                row |= bit(values[unit * size + k]);
+                col |= bit(values[k * size + unit]);
+                box |= bit(values[r * size + c]);
+            }
+            long full = (1L << size) - 1;
+            if (row != full || col != full || box != full) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long bit(int value) {
+        return value == 0 ? 0 : 1L << (value - 1);
+    }
+
+    private boolean isOriginal(int cell) {
+        return (originals[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public int getValue(int row, int col) {
+        return values[row * size + col];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getUndoDepth() {
+        return history.getUndoDepth();
+    }
+
+    public int getElapsedSeconds() {
+        return baseSeconds + (int) ((lastAccess - resumedAt) / 1000);
+    }
+
+    public GameState toGameState() {
+        int[][] grid = new int[size][size];
+        boolean[][] originalCells = new boolean[size][size];
+        for (int cell = 0; cell < size * size; cell++) {
+            grid[cell / size][cell % size] = values[cell];
+            originalCells[cell / size][cell % size] = isOriginal(cell);
+        }
+        return new GameState(grid, originalCells, getElapsedSeconds(), puzzleId);
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+}
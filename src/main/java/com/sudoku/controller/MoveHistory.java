@@ -0,0 +1,150 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.SudokuGrid;
+
+import java.util.Arrays;
+
+public class MoveHistory {
+    private static final int VALUE_BITS = 6;
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+    private static final int CELL_SHIFT = 2 * VALUE_BITS;
+    private static final int CELL_MASK = (1 << 20) - 1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int capacity;
+    private long[] moves;
+    private int head;
+    private int undoCount;
+    private int redoCount;
+
+    public MoveHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.moves = new long[Math.min(capacity, INITIAL_CAPACITY)];
+    }
+
+    public void record(int cell, int oldValue, int newValue, int timestamp) {
+        if (oldValue == newValue) {
+            return;
+        }
+        redoCount = 0;
+        if (undoCount == moves.length && moves.length < capacity) {
+            // head only moves once the buffer is at full capacity, so it is still 0 here
+            moves = Arrays.copyOf(moves, Math.min(capacity, moves.length * 2));
+        }
+        moves[slot(undoCount)] = encode(cell, oldValue, newValue, timestamp);
+        if (undoCount == moves.length) {
+            head = (head + 1) % moves.length;
+        } else {
+            undoCount++;
+        }
+    }
+
+    public boolean undo(SudokuGrid grid) {
+        if (undoCount == 0) {
+            return false;
+        }
+        undoCount--;
+        redoCount++;
+        long move = moves[slot(undoCount)];
+        apply(grid, cellOf(move), oldValueOf(move));
+        return true;
+    }
+
+    public boolean undo(byte[] values) {
+        if (undoCount == 0) {
+            return false;
+        }
+        undoCount--;
+        redoCount++;
+        long move = moves[slot(undoCount)];
+        values[cellOf(move)] = (byte) oldValueOf(move);
+        return true;
+    }
+
+    public boolean redo(SudokuGrid grid) {
+        if (redoCount == 0) {
+            return false;
+        }
+        long move = moves[slot(undoCount)];
+        undoCount++;
+        redoCount--;
+        apply(grid, cellOf(move), newValueOf(move));
+        return true;
+    }
+
+    public boolean redo(byte[] values) {
+        if (redoCount == 0) {
+            return false;
+        }
+        long move = moves[slot(undoCount)];
+        undoCount++;
+        redoCount--;
+        values[cellOf(move)] = (byte) newValueOf(move);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return undoCount > 0;
+    }
+
+    public boolean canRedo() {
+        return redoCount > 0;
+    }
+
+    public int getUndoDepth() {
+        return undoCount;
+    }
+
+    public int getRedoDepth() {
+        return redoCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLastTimestamp() {
+        return undoCount == 0 ? -1 : timestampOf(moves[slot(undoCount - 1)]);
+    }
+
+    public void clear() {
+        head = 0;
+        undoCount = 0;
+        redoCount = 0;
+    }
+
+    private int slot(int offset) {
+        return (head + offset) % moves.length;
+    }
+
+    private static void apply(SudokuGrid grid, int cell, int value) {
+        int size = grid.getSize();
+        grid.setValue(cell / size, cell % size, value);
+    }
+
+    private static long encode(int cell, int oldValue, int newValue, int timestamp) {
+        return ((long) timestamp << 32)
+                | ((long) (cell & CELL_MASK) << CELL_SHIFT)
+                | ((long) (oldValue & VALUE_MASK) << VALUE_BITS)
+                | (newValue & VALUE_MASK);
+    }
+
+    private static int cellOf(long move) {
+        return (int) (move >>> CELL_SHIFT) & CELL_MASK;
+    }
+
+    private static int oldValueOf(long move) {
+        return (int) (move >>> VALUE_BITS) & VALUE_MASK;
+    }
+
+    private static int newValueOf(long move) {
+        return (int) move & VALUE_MASK;
+    }
+
+    private static int timestampOf(long move) {
+        return (int) (move >>> 32);
+    }
+}
@@ -0,0 +1,72 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.GameState;
+import com.sudoku.model.PuzzleId;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.Metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PuzzleCache {
+    private static final LongAdder HITS = Metrics.counter("puzzle.cache.hits");
+    private static final LongAdder MISSES = Metrics.counter("puzzle.cache.misses");
+
+    private final Map<PuzzleId, GameState> entries;
+    private final Map<Integer, Queue<SudokuGrid>> grids;
+
+    public PuzzleCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.entries = new LinkedHashMap<PuzzleId, GameState>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PuzzleId, GameState> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.grids = new ConcurrentHashMap<>();
+        Metrics.gauge("puzzle.cache.size", this::size);
+    }
+
+    // Generation is deterministic per id, so two threads missing on the same id
+    // produce identical puzzles and the lock is not held while generating.
+    public GameState get(PuzzleId id) {
+        synchronized (entries) {
+            GameState cached = entries.get(id);
+            if (cached != null) {
+                HITS.increment();
+                return cached;
+            }
+        }
+        MISSES.increment();
+        // Scratch grids are pooled rather than thread-local, because requests may run on
+        // short-lived virtual threads that would each build a grid of their own.
+        Queue<SudokuGrid> idle = grids.computeIfAbsent(id.getSize(), size -> new ConcurrentLinkedQueue<>());
+        SudokuGrid grid = idle.poll();
+        if (grid == null) {
+            grid = new SudokuGrid(id.getSize());
+        }
+        GameState state;
+        try {
+            grid.generatePuzzle(id);
+            state = new GameState(grid, 0);
+        } finally {
+            idle.offer(grid);
+        }
+        synchronized (entries) {
+            entries.put(id, state);
+        }
+        return state;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GameState;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PuzzlePool {
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final Map<String, BlockingQueue<GameState>> queues;
+    private final Set<String> pendingRefills;
+    private final ExecutorService worker;
+    private final Map<Integer, SudokuGrid> workerGrids;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    public PuzzlePool(int lowWatermark, int highWatermark) {
+        if (lowWatermark < 0 || highWatermark < 1 || lowWatermark >= highWatermark) {
+            throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high");
+        }
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.queues = new ConcurrentHashMap<>();
+        this.pendingRefills = ConcurrentHashMap.newKeySet();
+        this.workerGrids = new HashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "puzzle-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public GameState take(int size, DifficultyLevel level) {
+        BlockingQueue<GameState> queue = queueFor(size, level);
+        GameState puzzle = queue.poll();
+        if (puzzle != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            SudokuGrid grid = new SudokuGrid(size);
+            grid.generatePuzzle(level);
+            puzzle = new GameState(grid, 0);
+        }
+        if (queue.size() <= lowWatermark) {
+            scheduleRefill(size, level);
+        }
+        return puzzle;
+    }
+
+    public void prefill(int size, DifficultyLevel level) {
+        scheduleRefill(size, level);
+    }
+
+    public int available(int size, DifficultyLevel level) {
+        return queueFor(size, level).size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private BlockingQueue<GameState> queueFor(int size, DifficultyLevel level) {
+        return queues.computeIfAbsent(key(size, level), k -> new LinkedBlockingQueue<>(highWatermark));
+    }
+
+    private void scheduleRefill(int size, DifficultyLevel level) {
+        String key = key(size, level);
+        if (worker.isShutdown() || !pendingRefills.add(key)) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                refill(size, level);
+            } catch (RuntimeException e) {
+                Logger.error("Failed to refill puzzle pool " + key, e);
+            } finally {
+                pendingRefills.remove(key);
+            }
+        });
+    }
+
+    private void refill(int size, DifficultyLevel level) {
+        BlockingQueue<GameState> queue = queueFor(size, level);
+        SudokuGrid grid = workerGrids.computeIfAbsent(size, SudokuGrid::new);
+        while (queue.size() < highWatermark && !Thread.currentThread().isInterrupted()) {
+            grid.generatePuzzle(level);
+            if (!queue.offer(new GameState(grid, 0))) {
+                break;
+            }
+        }
+    }
+
+    private static String key(int size, DifficultyLevel level) {
+        return size + ":" + level.name();
+    }
+}
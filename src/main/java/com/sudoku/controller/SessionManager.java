@@ -0,0 +1,200 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GameState;
+import com.sudoku.model.Hint;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.GameStateCodec;
+import com.sudoku.utils.Logger;
+import com.sudoku.utils.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class SessionManager {
+    private static final String EXTENSION = ".sav";
+    private static final int HISTORY_CAPACITY = Integer.getInteger("sudoku.session.history", 256);
+    private static final LongAdder EVICTIONS = Metrics.counter("sessions.evicted");
+    private static final LongAdder REHYDRATIONS = Metrics.counter("sessions.rehydrated");
+
+    private final Path storage;
+    private final long idleMillis;
+    private final PuzzlePool puzzlePool;
+    private final Map<String, GameSession> active;
+    private final ReentrantLock[] stripes;
+    private final ScheduledExecutorService evictor;
+
+    public SessionManager(Path storage, long idleMillis, int stripeCount, PuzzlePool puzzlePool) throws IOException {
+        this.storage = Files.createDirectories(storage);
+        this.idleMillis = idleMillis;
+        this.puzzlePool = puzzlePool;
+        this.active = new ConcurrentHashMap<>();
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleMillis / 4);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        Metrics.gauge("sessions.active", active::size);
+    }
+
+    public String create(int size, DifficultyLevel level) {
+        String id = UUID.randomUUID().toString();
+        GameSession session = new GameSession(id, puzzlePool.take(size, level), HISTORY_CAPACITY);
+        active.put(id, session);
+        return id;
+    }
+
+    public <T> T withSession(String id, Function<GameSession, T> action) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            GameSession session = active.get(id);
+            if (session == null) {
+                session = rehydrate(id);
+            }
+            session.touch();
+            return action.apply(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean place(String id, int row, int col, int value) {
+        if (row < 0 || col < 0 || value < 0 || row >= SudokuGrid.MAX_SIZE || col >= SudokuGrid.MAX_SIZE
+                || value > SudokuGrid.MAX_SIZE) {
+            return false;
+        }
+        return withSession(id, session -> session.place(row, col, value));
+    }
+
+    public boolean undo(String id) {
+        return withSession(id, GameSession::undo);
+    }
+
+    public boolean redo(String id) {
+        return withSession(id, GameSession::redo);
+    }
+
+    public Optional<Hint> hint(String id) {
+        return withSession(id, GameSession::getHint);
+    }
+
+    public GameState snapshot(String id) {
+        return withSession(id, GameSession::toGameState);
+    }
+
+    public boolean close(String id) {
+        if (!isValidId(id)) {
+            return false;
+        }
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            boolean removed = active.remove(id) != null;
+            return Files.deleteIfExists(pathFor(id)) || removed;
+        } catch (IOException e) {
+            Logger.error("Failed to delete session " + id, e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        for (GameSession session : active.values()) {
+            if (session.getLastAccess() < cutoff) {
+                evict(session.getId(), cutoff);
+            }
+        }
+    }
+
+    public void shutdown() {
+        evictor.shutdownNow();
+        for (String id : active.keySet()) {
+            evict(id, Long.MAX_VALUE);
+        }
+    }
+
+    private void evict(String id, long cutoff) {
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            GameSession session = active.get(id);
+            if (session == null || session.getLastAccess() >= cutoff) {
+                return;
+            }
+            ByteBuffer buffer = GameStateCodec.encode(session.toGameState());
+            try (FileChannel channel = FileChannel.open(pathFor(id),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            active.remove(id);
+            EVICTIONS.increment();
+        } catch (IOException e) {
+            Logger.error("Failed to evict session " + id, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private GameSession rehydrate(String id) {
+        Path path = pathFor(id);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("Unknown session " + id);
+        }
+        try {
+            GameState state = GameStateCodec.decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+            GameSession session = new GameSession(id, state, HISTORY_CAPACITY);
+            active.put(id, session);
+            Files.delete(path);
+            REHYDRATIONS.increment();
+            return session;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rehydrate session " + id, e);
+        }
+    }
+
+    private Path pathFor(String id) {
+        if (!isValidId(id)) {
+            throw new IllegalArgumentException("Invalid session id " + id);
+        }
+        return storage.resolve(id + EXTENSION);
+    }
+
+    private static boolean isValidId(String id) {
+        return !id.isEmpty() && id.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '-');
+    }
+
+    private ReentrantLock stripeFor(String id) {
+        int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
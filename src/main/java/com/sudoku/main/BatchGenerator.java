@@ -0,0 +1,289 @@
+package com.sudoku.main;
+
+import com.sudoku.model.Canonicalizer;
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GenerationStrategy;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.FingerprintSet;
+import com.sudoku.utils.PuzzleFormat;
+import com.sudoku.utils.PuzzleLibraryWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BatchGenerator {
+    private static final int LEAF_SIZE = 16;
+    private static final int HISTOGRAM_BUCKETS = 40;
+    private static final int DEDUPE_ATTEMPTS = 64;
+
+    private final int size;
+    private final DifficultyLevel level;
+    private final GenerationStrategy strategy;
+    private final BufferedWriter writer;
+    private final ThreadLocal<SudokuGrid> grids;
+    private final AtomicLongArray histogram;
+    private final AtomicLong maxLatency;
+    private final FingerprintSet fingerprints;
+    private final ThreadLocal<Canonicalizer> canonicalizers;
+    private final AtomicLong duplicates;
+    private final AtomicLong exhausted;
+    private final PuzzleLibraryWriter library;
+    private final Long seed;
+
+    public BatchGenerator(int size, DifficultyLevel level, GenerationStrategy strategy, BufferedWriter writer,
+                          FingerprintSet fingerprints, PuzzleLibraryWriter library, Long seed) {
+        this.size = size;
+        this.level = level;
+        this.strategy = strategy;
+        this.writer = writer;
+        this.grids = ThreadLocal.withInitial(() -> {
+            SudokuGrid grid = new SudokuGrid(size);
+            grid.setGenerationStrategy(strategy);
+            return grid;
+        });
+        this.histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+        this.maxLatency = new AtomicLong();
+        this.fingerprints = fingerprints;
+        this.canonicalizers = ThreadLocal.withInitial(() -> new Canonicalizer(size));
+        this.duplicates = new AtomicLong();
+        this.exhausted = new AtomicLong();
+        this.library = library;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = 1000;
+        int size = 9;
+        int threads = Runtime.getRuntime().availableProcessors();
+        DifficultyLevel level = DifficultyLevel.MEDIUM;
+        GenerationStrategy strategy = GenerationStrategy.BACKTRACKING;
+        String output = "puzzles.txt";
+        boolean dedupe = false;
+        String libraryPath = null;
+        Long seed = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + arg);
+            }
+            String value = args[++i];
+            try {
+                switch (arg) {
+                    case "--count":
+                        count = Integer.parseInt(value);
+                        break;
+                    case "--size":
+                        size = Integer.parseInt(value);
+                        break;
+                    case "--difficulty":
+                        level = DifficultyLevel.valueOf(value.toUpperCase());
+                        break;
+                    case "--strategy":
+                        strategy = GenerationStrategy.valueOf(value.toUpperCase());
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--dedupe":
+                        dedupe = Boolean.parseBoolean(value);
+                        break;
+                    case "--library":
+                        libraryPath = value;
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        usage("Unknown option " + arg);
+                }
+            } catch (IllegalArgumentException e) {
+                usage("Invalid value for " + arg + ": " + value);
+            }
+        }
+        int root = (int) Math.round(Math.sqrt(size));
+        if (root * root != size || size < SudokuGrid.MIN_SIZE || size > SudokuGrid.MAX_SIZE) {
+            usage("Unsupported size " + size);
+        }
+        if (count < 1) {
+            usage("--count must be at least 1");
+        }
+        if (threads < 1) {
+            usage("--threads must be at least 1");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.US_ASCII);
+             PuzzleLibraryWriter library = libraryPath == null ? null
+                     : new PuzzleLibraryWriter(Paths.get(libraryPath), size)) {
+            FingerprintSet fingerprints = dedupe ? new FingerprintSet(count) : null;
+            BatchGenerator generator = new BatchGenerator(size, level, strategy, writer, fingerprints, library, seed);
+            pool.invoke(generator.new GenerateTask(0, count));
+            long elapsed = System.nanoTime() - start;
+            generator.printReport(count, elapsed, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: BatchGenerator [--count N] [--size 4|9|16|25|36] [--difficulty EASY|MEDIUM|HARD]"
+                + " [--strategy BACKTRACKING|TRANSFORMATION] [--threads N] [--output FILE] [--dedupe true|false]"
+                + " [--library FILE] [--seed N]");
+        System.exit(2);
+    }
+
+    private void generateOne(int index) {
+        SudokuGrid grid = grids.get();
+        long start = System.nanoTime();
+        generate(grid, index, 0);
+        boolean unique = fingerprints == null || addUnique(grid, index);
+        long latency = System.nanoTime() - start;
+        record(latency);
+        if (!unique) {
+            exhausted.incrementAndGet();
+            return;
+        }
+        String line = PuzzleFormat.format(grid);
+        try {
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+            }
+            if (library != null) {
+                addToLibrary(grid);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void addToLibrary(SudokuGrid grid) throws IOException {
+        int[][] solution = grid.solve().orElseThrow(() -> new IllegalStateException("Generated puzzle has no solution"));
+        int grade = grid.getGrade();
+        int[][] values = values(grid);
+        long[] fingerprint = canonicalizers.get().fingerprint(values);
+        library.add(DifficultyLevel.forGrade(grade), values, solution, grade, fingerprint);
+    }
+
+    // With --seed, puzzle #index is a pure function of the base seed, so a run can be
+    // reproduced on any thread count. Only the line order differs, unless --dedupe has to
+    // choose between two equivalent puzzles.
+    private void generate(SudokuGrid grid, int index, int attempt) {
+        if (seed == null) {
+            grid.generatePuzzle(level);
+        } else {
+            grid.generatePuzzle(level, new SplittableRandom(seed + (long) index * DEDUPE_ATTEMPTS + attempt).nextLong());
+        }
+    }
+
+    private boolean addUnique(SudokuGrid grid, int index) {
+        for (int attempt = 0; attempt < DEDUPE_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                generate(grid, index, attempt);
+            }
+            if (fingerprints.add(fingerprint(grid))) {
+                return true;
+            }
+            duplicates.incrementAndGet();
+        }
+        return false;
+    }
+
+    private long[] fingerprint(SudokuGrid grid) {
+        return canonicalizers.get().fingerprint(values(grid));
+    }
+
+    private int[][] values(SudokuGrid grid) {
+        int[][] values = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                values[i][j] = grid.getValue(i, j);
+            }
+        }
+        return values;
+    }
+
+    private void record(long latencyNanos) {
+        long micros = Math.max(1, latencyNanos / 1000);
+        int bucket = Math.min(HISTOGRAM_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        histogram.incrementAndGet(bucket);
+        maxLatency.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    private void printReport(int count, long elapsedNanos, int threads) {
+        double seconds = elapsedNanos / 1e9;
+        long generated = count - exhausted.get();
+        System.out.printf("Generated %d %dx%d %s puzzles (%s) in %.2fs on %d threads (%.1f puzzles/s)%n",
+                generated, size, size, level, strategy, seconds, threads, generated / seconds);
+        if (exhausted.get() > 0) {
+            System.out.printf("Skipped %d of %d requested puzzles%n", exhausted.get(), count);
+        }
+        if (fingerprints != null) {
+            System.out.printf("Rejected %d duplicate puzzles (%d distinct fingerprints, %d slots skipped after %d attempts)%n",
+                    duplicates.get(), fingerprints.size(), exhausted.get(), DEDUPE_ATTEMPTS);
+        }
+        if (library != null) {
+            System.out.printf("Added %d puzzles to the library%n", library.getCount());
+        }
+        System.out.println("Latency histogram (per requested puzzle):");
+        long cumulative = 0;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            long bucketCount = histogram.get(i);
+            if (bucketCount == 0) {
+                continue;
+            }
+            cumulative += bucketCount;
+            System.out.printf("  %10s - %-10s %8d  %6.2f%%%n",
+                    formatMicros(1L << i), formatMicros(1L << (i + 1)), bucketCount, 100.0 * cumulative / count);
+        }
+        System.out.printf("  max %s%n", formatMicros(maxLatency.get() / 1000));
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros >= 1_000_000) {
+            return String.format("%.1fs", micros / 1e6);
+        }
+        if (micros >= 1000) {
+            return String.format("%.1fms", micros / 1e3);
+        }
+        return micros + "us";
+    }
+
+    private class GenerateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        GenerateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    generateOne(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GenerateTask(from, mid), new GenerateTask(mid, to));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.sudoku.main;
+
+import com.sudoku.model.BitmaskSolver;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.PuzzleFormat;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class BatchSolver {
+    private static final int WINDOW_PER_THREAD = 256;
+    private static final int READ_BUFFER = 1 << 20;
+    private static final long DEFAULT_NODE_LIMIT = 10_000_000L;
+
+    private final BufferedWriter writer;
+    private final int solutionLimit;
+    private final long nodeLimit;
+    private final int window;
+    private final Semaphore permits;
+    private final AtomicReferenceArray<String> results;
+    private final ThreadLocal<BitmaskSolver[]> solvers;
+    private final AtomicLong solved;
+    private final AtomicLong unique;
+    private final AtomicLong invalid;
+    private final AtomicLong aborted;
+    private final AtomicLong solveNanos;
+    private final AtomicLong abortedNanos;
+    private long nextToWrite;
+    private volatile IOException writeError;
+
+    public BatchSolver(BufferedWriter writer, int threads, int solutionLimit, long nodeLimit) {
+        this.writer = writer;
+        this.solutionLimit = solutionLimit;
+        this.nodeLimit = nodeLimit;
+        this.window = threads * WINDOW_PER_THREAD;
+        this.permits = new Semaphore(window);
+        this.results = new AtomicReferenceArray<>(window);
+        this.solvers = ThreadLocal.withInitial(() -> new BitmaskSolver[SudokuGrid.MAX_SIZE + 1]);
+        this.solved = new AtomicLong();
+        this.unique = new AtomicLong();
+        this.invalid = new AtomicLong();
+        this.aborted = new AtomicLong();
+        this.solveNanos = new AtomicLong();
+        this.abortedNanos = new AtomicLong();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int limit = 2;
+        long nodeLimit = DEFAULT_NODE_LIMIT;
+        String input = null;
+        String output = "solutions.txt";
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + arg);
+            }
+            String value = args[++i];
+            try {
+                switch (arg) {
+                    case "--input":
+                        input = value;
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--limit":
+                        limit = Integer.parseInt(value);
+                        break;
+                    case "--node-limit":
+                        nodeLimit = Long.parseLong(value);
+                        break;
+                    default:
+                        usage("Unknown option " + arg);
+                }
+            } catch (IllegalArgumentException e) {
+                usage("Invalid value for " + arg + ": " + value);
+            }
+        }
+        if (input == null) {
+            usage("Missing --input");
+        }
+        if (threads < 1) {
+            usage("--threads must be at least 1");
+        }
+        if (limit < 1) {
+            usage("--limit must be at least 1");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long count;
+        try (BufferedReader reader = new BufferedReader(
+                     Files.newBufferedReader(Paths.get(input), StandardCharsets.US_ASCII), READ_BUFFER);
+             BufferedWriter writer = new BufferedWriter(
+                     Files.newBufferedWriter(Paths.get(output), StandardCharsets.US_ASCII), READ_BUFFER)) {
+            BatchSolver solver = new BatchSolver(writer, threads, limit, nodeLimit);
+            count = solver.run(reader, pool);
+            solver.printReport(count, System.nanoTime() - start, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: BatchSolver --input FILE [--output FILE] [--threads N] [--limit N] [--node-limit N]");
+        System.err.println("Each output line is: solution,solutionCount,micros (in input order)");
+        System.err.println("A count of -1 marks an invalid line, -2 a search stopped at the node limit");
+        System.exit(2);
+    }
+
+    public long run(BufferedReader reader, ExecutorService pool) throws IOException, InterruptedException {
+        long sequence = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String puzzle = line.trim();
+            if (puzzle.isEmpty() || puzzle.charAt(0) == '#') {
+                continue;
+            }
+            permits.acquire();
+            checkWriteError();
+            long index = sequence++;
+            pool.execute(() -> {
+                String result = puzzle + ",-1,0";
+                try {
+                    result = solveLine(puzzle);
+                } catch (RuntimeException e) {
+                    invalid.incrementAndGet();
+                } finally {
+                    complete(index, result);
+                }
+            });
+        }
+        permits.acquire(window);
+        permits.release(window);
+        checkWriteError();
+        return sequence;
+    }
+
+    private String solveLine(String puzzle) {
+        int[][] grid;
+        try {
+            grid = PuzzleFormat.parse(puzzle);
+        } catch (IllegalArgumentException e) {
+            invalid.incrementAndGet();
+            return puzzle + ",-1,0";
+        }
+        int size = grid.length;
+        BitmaskSolver[] cache = solvers.get();
+        BitmaskSolver solver;
+        try {
+            solver = cache[size];
+            if (solver == null) {
+                solver = cache[size] = new BitmaskSolver(size);
+                solver.setNodeLimit(nodeLimit);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            invalid.incrementAndGet();
+            return puzzle + ",-1,0";
+        }
+        long start = System.nanoTime();
+        int count = solver.solveAndCount(grid, solutionLimit);
+        long nanos = System.nanoTime() - start;
+        if (solver.isNodeLimitReached()) {
+            aborted.incrementAndGet();
+            abortedNanos.addAndGet(nanos);
+            return puzzle + ",-2," + nanos / 1000;
+        }
+        solved.incrementAndGet();
+        solveNanos.addAndGet(nanos);
+        if (count == 1) {
+            unique.incrementAndGet();
+        }
+        String solution = count > 0 ? PuzzleFormat.format(grid) : puzzle;
+        return solution + "," + count + "," + nanos / 1000;
+    }
+
+    private void complete(long index, String result) {
+        results.set((int) (index % window), result);
+        synchronized (this) {
+            int slot;
+            String ready;
+            while ((ready = results.get(slot = (int) (nextToWrite % window))) != null) {
+                results.set(slot, null);
+                nextToWrite++;
+                try {
+                    if (writeError == null) {
+                        writer.write(ready);
+                        writer.newLine();
+                    }
+                } catch (IOException e) {
+                    writeError = e;
+                }
+                permits.release();
+            }
+        }
+    }
+
+    private void checkWriteError() throws IOException {
+        if (writeError != null) {
+            throw new IOException("Failed to write results", writeError);
+        }
+    }
+
+    private void printReport(long count, long elapsedNanos, int threads) {
+        double seconds = elapsedNanos / 1e9;
+        long solvedCount = solved.get();
+        System.out.printf("Processed %d lines in %.2fs on %d threads (%.1f lines/s)%n",
+                count, seconds, threads, count / seconds);
+        System.out.printf("  solved %d (unique %d, multiple or none %d), invalid %d, node limit reached %d%n",
+                solvedCount, unique.get(), solvedCount - unique.get(), invalid.get(), aborted.get());
+        if (solvedCount > 0) {
+            System.out.printf("  mean solve time %.1fus%n", solveNanos.get() / 1e3 / solvedCount);
+        }
+        System.out.printf("  total solver CPU %.2fs (%.2fs in searches stopped at the node limit)%n",
+                (solveNanos.get() + abortedNanos.get()) / 1e9, abortedNanos.get() / 1e9);
+    }
+}
@@ -1,12 +1,14 @@
 package com.sudoku.main;
 
 import com.sudoku.controller.GameController;
+import com.sudoku.utils.Metrics;
 import com.sudoku.view.SudokuGUI;
 
 import javax.swing.SwingUtilities;
 
 public class SudokuGame {
     public static void main(String[] args) {
+        Metrics.start();
         SwingUtilities.invokeLater(() -> {
             GameController controller = new GameController();
             SudokuGUI gui = new SudokuGUI(controller);
@@ -0,0 +1,307 @@
+package com.sudoku.model;
+
+import java.util.Arrays;
+
+public class BitmaskSolver implements Solver {
+    private final int size;
+    private final int cellCount;
+    private final long fullMask;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+    private final int[] values;
+    private final long[] rowMasks;
+    private final long[] colMasks;
+    private final long[] boxMasks;
+    private final int[] empty;
+    private final long[] candidates;
+    private final int[][] unitCells;
+    private int emptyCount;
+    private int forcedCell;
+    private int bestCell;
+    private long forcedBit;
+    private int solutionCount;
+    private int limit;
+    private int[][] target;
+    private long nodeCount;
+    private long backtrackCount;
+    private long nodeLimit;
+    private boolean nodeLimitReached;
+
+    public BitmaskSolver(int size) {
+        int subgridSize = (int) Math.sqrt(size);
+        if (subgridSize * subgridSize != size) {
+            throw new IllegalArgumentException("Grid size must be a perfect square");
+        }
+        this.size = size;
+        this.cellCount = size * size;
+        this.fullMask = (1L << size) - 1;
+        this.rowOf = new int[cellCount];
+        this.colOf = new int[cellCount];
+        this.boxOf = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            rowOf[cell] = row;
+            colOf[cell] = col;
+            boxOf[cell] = (row / subgridSize) * subgridSize + col / subgridSize;
+        }
+        this.values = new int[cellCount];
+        this.rowMasks = new long[size];
+        this.colMasks = new long[size];
+        this.boxMasks = new long[size];
+        this.nodeLimit = Long.MAX_VALUE;
+        this.empty = new int[cellCount];
+        this.candidates = new long[cellCount];
+        this.unitCells = new int[3 * size][size];
+        int[] filled = new int[3 * size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            unitCells[rowOf[cell]][filled[rowOf[cell]]++] = cell;
+            unitCells[size + colOf[cell]][filled[size + colOf[cell]]++] = cell;
+            unitCells[2 * size + boxOf[cell]][filled[2 * size + boxOf[cell]]++] = cell;
+        }
+    }
+
+    public long getNodeLimit() {
+        return nodeLimit;
+    }
+
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit <= 0 ? Long.MAX_VALUE : nodeLimit;
+    }
+
+    public boolean isNodeLimitReached() {
+        return nodeLimitReached;
+    }
+
+    @Override
+    public boolean solve(int[][] grid) {
+        return run(grid, 1, true) == 1;
+    }
+
+    @Override
+    public int countSolutions(int[][] grid, int limit) {
+        return run(grid, limit, false);
+    }
+
+    public int solveAndCount(int[][] grid, int limit) {
+        return run(grid, limit, true);
+    }
+
+    @Override
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public long getBacktrackCount() {
+        return backtrackCount;
+    }
+
+    private int run(int[][] grid, int limit, boolean fill) {
+        if (grid.length != size) {
+            throw new IllegalArgumentException("Grid size does not match solver size");
+        }
+        this.nodeCount = 0;
+        this.backtrackCount = 0;
+        this.solutionCount = 0;
+        this.nodeLimitReached = false;
+        this.limit = Math.max(1, limit);
+        this.target = fill ? grid : null;
+        if (load(grid)) {
+            search(0);
+        }
+        this.target = null;
+        return solutionCount;
+    }
+
+    private boolean load(int[][] grid) {
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(colMasks, 0);
+        Arrays.fill(boxMasks, 0);
+        emptyCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = grid[rowOf[cell]][colOf[cell]];
+            values[cell] = value;
+            if (value == 0) {
+                empty[emptyCount++] = cell;
+                continue;
+            }
+            if (value < 1 || value > size) {
+                return false;
+            }
+            long bit = 1L << (value - 1);
+            if (((rowMasks[rowOf[cell]] | colMasks[colOf[cell]] | boxMasks[boxOf[cell]]) & bit) != 0) {
+                return false;
+            }
+            rowMasks[rowOf[cell]] |= bit;
+            colMasks[colOf[cell]] |= bit;
+            boxMasks[boxOf[cell]] |= bit;
+        }
+        return true;
+    }
+
+    private void search(int depth) {
+        int placed = propagate(depth);
+        if (placed < 0) {
+            return;
+        }
+
+        if (placed == emptyCount) {
+            solutionCount++;
+            if (target != null) {
+                for (int cell = 0; cell < cellCount; cell++) {
+                    target[rowOf[cell]][colOf[cell]] = values[cell];
+                }
+            }
+        } else if (nodeCount >= nodeLimit) {
+            nodeLimitReached = true;
+        } else {
+            branch(placed);
+        }
+        undo(depth, placed);
+    }
+
+    private int propagate(int depth) {
+        int placed = depth;
+        while (true) {
+            boolean progress = false;
+            bestCell = -1;
+            int bestCount = size + 1;
+            for (int i = placed; i < emptyCount; i++) {
+                int cell = empty[i];
+                long mask = ~(rowMasks[rowOf[cell]] | colMasks[colOf[cell]] | boxMasks[boxOf[cell]]) & fullMask;
+                int count = Long.bitCount(mask);
+                if (count == 0) {
+                    undo(depth, placed);
+                    return -1;
+                }
+                if (count == 1) {
+                    empty[i] = empty[placed];
+                    empty[placed++] = cell;
+                    assign(cell, mask);
+                    progress = true;
+                    continue;
+                }
+                candidates[cell] = mask;
+                if (count < bestCount) {
+                    bestCell = cell;
+                    bestCount = count;
+                }
+            }
+            if (progress || placed == emptyCount) {
+                if (placed == emptyCount) {
+                    return placed;
+                }
+                continue;
+            }
+
+            if (!findHiddenSingle()) {
+                undo(depth, placed);
+                return -1;
+            }
+            if (forcedBit == 0) {
+                return placed;
+            }
+            for (int i = placed; i < emptyCount; i++) {
+                if (empty[i] == forcedCell) {
+                    empty[i] = empty[placed];
+                    empty[placed++] = forcedCell;
+                    break;
+                }
+            }
+            assign(forcedCell, forcedBit);
+        }
+    }
+
+    private void branch(int depth) {
+        int cell = bestCell;
+        long remaining = candidates[cell];
+        for (int i = depth; i < emptyCount; i++) {
+            if (empty[i] == cell) {
+                empty[i] = empty[depth];
+                empty[depth] = cell;
+                break;
+            }
+        }
+
+        while (remaining != 0) {
+            long bit = remaining & -remaining;
+            remaining ^= bit;
+            assign(cell, bit);
+            search(depth + 1);
+            unassign(cell, bit);
+            if (solutionCount >= limit) {
+                break;
+            }
+            if (nodeCount >= nodeLimit) {
+                nodeLimitReached = true;
+                break;
+            }
+            backtrackCount++;
+        }
+    }
+
+    private void assign(int cell, long bit) {
+        nodeCount++;
+        values[cell] = Long.numberOfTrailingZeros(bit) + 1;
+        rowMasks[rowOf[cell]] |= bit;
+        colMasks[colOf[cell]] |= bit;
+        boxMasks[boxOf[cell]] |= bit;
+    }
+
+    private void unassign(int cell, long bit) {
+        values[cell] = 0;
+        rowMasks[rowOf[cell]] &= ~bit;
+        colMasks[colOf[cell]] &= ~bit;
+        boxMasks[boxOf[cell]] &= ~bit;
+    }
+
+    private void undo(int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            int cell = empty[i];
+            unassign(cell, 1L << (values[cell] - 1));
+        }
+    }
+
+    private boolean findHiddenSingle() {
+        forcedBit = 0;
+        for (int unit = 0; unit < unitCells.length; unit++) {
+            int[] cells = unitCells[unit];
+            long once = 0;
+            long twice = 0;
+            for (int cell : cells) {
+                if (values[cell] == 0) {
+                    long mask = candidates[cell];
+                    twice |= once & mask;
+                    once |= mask;
+                }
+            }
+            if ((once | placedMask(unit)) != fullMask) {
+                return false;
+            }
+            long single = once & ~twice;
+            if (single != 0) {
+                long bit = single & -single;
+                for (int cell : cells) {
+                    if (values[cell] == 0 && (candidates[cell] & bit) != 0) {
+                        forcedCell = cell;
+                        forcedBit = bit;
+                        return true;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private long placedMask(int unit) {
+        if (unit < size) {
+            return rowMasks[unit];
+        }
+        if (unit < 2 * size) {
+            return colMasks[unit - size];
+        }
+        return boxMasks[unit - 2 * size];
+    }
+}
@@ -0,0 +1,244 @@
+package com.sudoku.model;
+
+public class Canonicalizer {
+    private static final int EXHAUSTIVE_MAX_SIZE = 9;
+
+    private final int size;
+    private final int subgridSize;
+    private final int[] source;
+    private final int[] columnOrder;
+    private final int[] rowAt;
+    private final int[] best;
+    private final int[] row;
+    private final int[] labels;
+    private final int[] assigned;
+    private final int[] assignedAt;
+    private final boolean[] usedColumn;
+    private final boolean[] usedRow;
+    private final int[][] firstRowState;
+    private final int[][] firstRowAssigned;
+    private final int[][] firstRowLabels;
+    private final int[] firstRowNext;
+    private int nextLabel;
+    private int assignedCount;
+    private int bestLimit;
+
+    public Canonicalizer(int size) {
+        int root = (int) Math.round(Math.sqrt(size));
+        if (root * root != size) {
+            throw new IllegalArgumentException("Grid size must be a perfect square");
+        }
+        this.size = size;
+        this.subgridSize = root;
+        this.source = new int[size * size];
+        this.columnOrder = new int[size];
+        this.rowAt = new int[size];
+        this.best = new int[size * size];
+        this.row = new int[size];
+        this.labels = new int[size + 1];
+        this.assigned = new int[size];
+        this.assignedAt = new int[size + 1];
+        this.usedColumn = new boolean[size];
+        this.usedRow = new boolean[size];
+        this.firstRowState = new int[size + 1][size];
+        this.firstRowAssigned = new int[size][size];
+        this.firstRowLabels = new int[size][size + 1];
+        this.firstRowNext = new int[size];
+    }
+
+    public int[] canonicalize(int[][] puzzle) {
+        if (puzzle.length != size) {
+            throw new IllegalArgumentException("Puzzle size does not match canonicalizer size");
+        }
+        bestLimit = 0;
+        for (int orientation = 0; orientation < 2; orientation++) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    source[r * size + c] = orientation == 0 ? puzzle[r][c] : puzzle[c][r];
+                }
+            }
+            if (size <= EXHAUSTIVE_MAX_SIZE) {
+                permuteColumns(0);
+            } else {
+                for (int c = 0; c < size; c++) {
+                    columnOrder[c] = c;
+                    usedRow[c] = false;
+                }
+                resetLabels();
+                for (int depth = 0; depth < size; depth++) {
+                    if (!tryRow(depth, depth)) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best.clone();
+    }
+
+    public long[] fingerprint(int[][] puzzle) {
+        int[] canonical = canonicalize(puzzle);
+        long h1 = 0x243F6A8885A308D3L ^ size;
+        long h2 = 0x13198A2E03707344L ^ size;
+        for (int value : canonical) {
+            h1 = Long.rotateLeft((h1 ^ value) * 0x9E3779B97F4A7C15L, 31);
+            h2 = Long.rotateLeft((h2 + value) * 0xC2B2AE3D27D4EB4FL, 29);
+        }
+        return new long[] {mix(h1), mix(h2) | 1L};
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void permuteColumns(int position) {
+        if (position == size) {
+            resetLabels();
+            permuteRows(0);
+            return;
+        }
+        int stack = position % subgridSize == 0 ? -1 : columnOrder[position - 1] / subgridSize;
+        for (int column = 0; column < size; column++) {
+            if (usedColumn[column]) {
+                continue;
+            }
+            if (stack >= 0 ? column / subgridSize != stack : !stackStartFree(column)) {
+                continue;
+            }
+            usedColumn[column] = true;
+            columnOrder[position] = column;
+            if (extendFirstRows(position, column)) {
+                permuteColumns(position + 1);
+            }
+            undoFirstRows(position);
+            usedColumn[column] = false;
+        }
+    }
+
+    // Any row can become the first canonical row, so a column prefix is only worth
+    // extending while some row's relabeled prefix is not already above the best first row.
+    private boolean extendFirstRows(int position, int column) {
+        boolean alive = false;
+        for (int r = 0; r < size; r++) {
+            firstRowAssigned[position][r] = 0;
+            int previous = firstRowState[position][r];
+            if (previous > 0) {
+                firstRowState[position + 1][r] = 1;
+                continue;
+            }
+            int value = source[r * size + column];
+            int label = 0;
+            if (value != 0) {
+                if (firstRowLabels[r][value] == 0) {
+                    firstRowLabels[r][value] = ++firstRowNext[r];
+                    firstRowAssigned[position][r] = value;
+                }
+                label = firstRowLabels[r][value];
+            }
+            int state = previous < 0 || bestLimit == 0 ? -1 : Integer.compare(label, best[position]);
+            firstRowState[position + 1][r] = state;
+            alive |= state <= 0;
+        }
+        return alive;
+    }
+
+    private void undoFirstRows(int position) {
+        for (int r = 0; r < size; r++) {
+            int value = firstRowAssigned[position][r];
+            if (value != 0) {
+                firstRowLabels[r][value] = 0;
+                firstRowNext[r]--;
+            }
+        }
+    }
+
+    private boolean stackStartFree(int column) {
+        int start = column - column % subgridSize;
+        for (int c = start; c < start + subgridSize; c++) {
+            if (usedColumn[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void permuteRows(int depth) {
+        if (depth == size) {
+            return;
+        }
+        int band = depth % subgridSize == 0 ? -1 : rowAt[depth - 1] / subgridSize;
+        for (int r = 0; r < size; r++) {
+            if (usedRow[r] || (band >= 0 ? r / subgridSize != band : !bandFree(r / subgridSize))) {
+                continue;
+            }
+            if (depth == 0 && firstRowState[size][r] > 0) {
+                continue;
+            }
+            if (tryRow(depth, r)) {
+                usedRow[r] = true;
+                rowAt[depth] = r;
+                permuteRows(depth + 1);
+                usedRow[r] = false;
+            }
+            undoLabels(depth);
+        }
+    }
+
+    private boolean bandFree(int band) {
+        for (int r = band * subgridSize; r < (band + 1) * subgridSize; r++) {
+            if (usedRow[r]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryRow(int depth, int sourceRow) {
+        assignedAt[depth] = assignedCount;
+        int base = sourceRow * size;
+        for (int c = 0; c < size; c++) {
+            int value = source[base + columnOrder[c]];
+            if (value != 0 && labels[value] == 0) {
+                labels[value] = ++nextLabel;
+                assigned[assignedCount++] = value;
+            }
+            row[c] = value == 0 ? 0 : labels[value];
+        }
+        int offset = depth * size;
+        if (depth < bestLimit) {
+            for (int c = 0; c < size; c++) {
+                if (row[c] != best[offset + c]) {
+                    if (row[c] > best[offset + c]) {
+                        return false;
+                    }
+                    bestLimit = depth;
+                    break;
+                }
+            }
+        }
+        if (depth >= bestLimit) {
+            System.arraycopy(row, 0, best, offset, size);
+            bestLimit = depth + 1;
+        }
+        return true;
+    }
+
+    private void undoLabels(int depth) {
+        while (assignedCount > assignedAt[depth]) {
+            labels[assigned[--assignedCount]] = 0;
+            nextLabel--;
+        }
+    }
+
+    private void resetLabels() {
+        for (int i = 0; i <= size; i++) {
+            labels[i] = 0;
+        }
+        nextLabel = 0;
+        assignedCount = 0;
+    }
+}
@@ -0,0 +1,251 @@
+package com.sudoku.model;
+
+public class DancingLinksSolver implements Solver {
+    private final int size;
+    private final int subgridSize;
+    private final int columnCount;
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] rowOf;
+    private final int[] columnSize;
+    private final int[] firstNode;
+    private final int[] chosen;
+    private int depth;
+    private int solutionCount;
+    private int limit;
+    private int[][] target;
+    private long nodeCount;
+    private long backtrackCount;
+
+    public DancingLinksSolver(int size) {
+        this.size = size;
+        this.subgridSize = (int) Math.sqrt(size);
+        if (subgridSize * subgridSize != size) {
+            throw new IllegalArgumentException("Grid size must be a perfect square");
+        }
+        int cells = size * size;
+        int rows = cells * size;
+        this.columnCount = 4 * cells;
+        int nodeTotal = 1 + columnCount + 4 * rows;
+        this.left = new int[nodeTotal];
+        this.right = new int[nodeTotal];
+        this.up = new int[nodeTotal];
+        this.down = new int[nodeTotal];
+        this.column = new int[nodeTotal];
+        this.rowOf = new int[nodeTotal];
+        this.columnSize = new int[columnCount + 1];
+        this.firstNode = new int[rows];
+        this.chosen = new int[cells];
+        buildMatrix();
+    }
+
+    private void buildMatrix() {
+        for (int c = 0; c <= columnCount; c++) {
+            left[c] = c == 0 ? columnCount : c - 1;
+            right[c] = c == columnCount ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int cells = size * size;
+        int node = columnCount + 1;
+        int[] cols = new int[4];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int box = (row / subgridSize) * subgridSize + col / subgridSize;
+                for (int digit = 0; digit < size; digit++) {
+                    int candidate = (row * size + col) * size + digit;
+                    cols[0] = 1 + row * size + col;
+                    cols[1] = 1 + cells + row * size + digit;
+                    cols[2] = 1 + 2 * cells + col * size + digit;
+                    cols[3] = 1 + 3 * cells + box * size + digit;
+
+                    firstNode[candidate] = node;
+                    for (int k = 0; k < 4; k++) {
+                        int header = cols[k];
+                        column[node] = header;
+                        rowOf[node] = candidate;
+                        up[node] = up[header];
+                        down[node] = header;
+                        down[up[header]] = node;
+                        up[header] = node;
+                        columnSize[header]++;
+                        left[node] = k == 0 ? node + 3 : node - 1;
+                        right[node] = k == 3 ? node - 3 : node + 1;
+                        node++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean solve(int[][] grid) {
+        return run(grid, 1, true) == 1;
+    }
+
+    @Override
+    public int countSolutions(int[][] grid, int limit) {
+        return run(grid, limit, false);
+    }
+
+    @Override
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public long getBacktrackCount() {
+        return backtrackCount;
+    }
+
+    private int run(int[][] grid, int limit, boolean fill) {
+        if (grid.length != size) {
+            throw new IllegalArgumentException("Grid size does not match solver size");
+        }
+        this.nodeCount = 0;
+        this.backtrackCount = 0;
+        this.solutionCount = 0;
+        this.limit = Math.max(1, limit);
+        this.target = fill ? grid : null;
+        this.depth = 0;
+
+        int givens = 0;
+        boolean consistent = true;
+        for (int row = 0; row < size && consistent; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = grid[row][col];
+                if (value == 0) {
+                    continue;
+                }
+                if (value < 1 || value > size) {
+                    consistent = false;
+                    break;
+                }
+                int first = firstNode[(row * size + col) * size + value - 1];
+                if (!selectRow(first)) {
+                    consistent = false;
+                    break;
+                }
+                chosen[depth++] = first;
+                givens++;
+            }
+        }
+
+        if (consistent) {
+            search();
+        }
+
+        for (int i = givens - 1; i >= 0; i--) {
+            deselectRow(chosen[i]);
+        }
+        this.depth = 0;
+        this.target = null;
+        return solutionCount;
+    }
+
+    private boolean selectRow(int node) {
+        int j = node;
+        do {
+            if (isCovered(column[j])) {
+                for (int k = j; k != node; ) {
+                    k = left[k];
+                    uncover(column[k]);
+                }
+                return false;
+            }
+            cover(column[j]);
+            j = right[j];
+        } while (j != node);
+        return true;
+    }
+
+    private void deselectRow(int node) {
+        int j = left[node];
+        while (true) {
+            uncover(column[j]);
+            if (j == node) {
+                break;
+            }
+            j = left[j];
+        }
+    }
+
+    private boolean isCovered(int header) {
+        return right[left[header]] != header;
+    }
+
+    private void search() {
+        if (right[0] == 0) {
+            solutionCount++;
+            if (target != null) {
+                for (int i = 0; i < depth; i++) {
+                    int candidate = rowOf[chosen[i]];
+                    int cell = candidate / size;
+                    target[cell / size][cell % size] = candidate % size + 1;
+                }
+            }
+            return;
+        }
+
+        int best = right[0];
+        for (int c = right[best]; c != 0; c = right[c]) {
+            if (columnSize[c] < columnSize[best]) {
+                best = c;
+                if (columnSize[c] <= 1) {
+                    break;
+                }
+            }
+        }
+        if (columnSize[best] == 0) {
+            return;
+        }
+
+        cover(best);
+        for (int r = down[best]; r != best; r = down[r]) {
+            nodeCount++;
+            chosen[depth++] = r;
+            for (int j = right[r]; j != r; j = right[j]) {
+                cover(column[j]);
+            }
+            search();
+            for (int j = left[r]; j != r; j = left[j]) {
+                uncover(column[j]);
+            }
+            depth--;
+            if (solutionCount >= limit) {
+                break;
+            }
+            backtrackCount++;
+        }
+        uncover(best);
+    }
+
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sudoku.model;
+
+public class DifficultyGrader {
+    public static final int UNSOLVABLE = Integer.MAX_VALUE;
+    private static final int WEIGHT_SCALE = 1000;
+
+    private final int size;
+    private final LogicSolver solver;
+    private Technique hardest;
+    private int steps;
+
+    public DifficultyGrader(int size) {
+        this.size = size;
+        this.solver = new LogicSolver(size);
+    }
+
+    public int grade(SudokuGrid grid) {
+        solver.load(grid);
+        return run();
+    }
+
+    public int grade(int[][] puzzle) {
+        solver.load(puzzle);
+        return run();
+    }
+
+    private int run() {
+        hardest = null;
+        steps = 0;
+        while (!solver.isSolved()) {
+            Technique technique = solver.step();
+            if (technique == null) {
+                return UNSOLVABLE;
+            }
+            steps++;
+            if (hardest == null || technique.getWeight() > hardest.getWeight()) {
+                hardest = technique;
+            }
+            if (technique.isPlacement()) {
+                int cell = solver.getStepCell();
+                solver.place(cell / size, cell % size, solver.getStepValue());
+            }
+        }
+        return score(hardest, steps);
+    }
+
+    public Technique getHardestTechnique() {
+        return hardest;
+    }
+
+    public int getStepCount() {
+        return steps;
+    }
+
+    public static int score(Technique hardest, int steps) {
+        int weight = hardest == null ? 0 : hardest.getWeight();
+        return weight * WEIGHT_SCALE + Math.min(steps, WEIGHT_SCALE - 1);
+    }
+}
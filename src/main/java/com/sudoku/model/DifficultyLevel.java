@@ -1,17 +1,52 @@
 package com.sudoku.model;
 
 public enum DifficultyLevel {
-    EASY(40),
-    MEDIUM(30),
-    HARD(25);
+    EASY(40, 0, DifficultyGrader.score(Technique.NAKED_SINGLE, 999)),
+    MEDIUM(30, DifficultyGrader.score(Technique.HIDDEN_SINGLE, 0), DifficultyGrader.score(Technique.HIDDEN_SINGLE, 999)),
+    HARD(25, DifficultyGrader.score(Technique.NAKED_PAIR, 0), DifficultyGrader.UNSOLVABLE);
     
     private final int initialCells;
+    private final int minGrade;
+    private final int maxGrade;
     
-    DifficultyLevel(int initialCells) {
+    DifficultyLevel(int initialCells, int minGrade, int maxGrade) {
         this.initialCells = initialCells;
+        this.minGrade = minGrade;
+        this.maxGrade = maxGrade;
     }
     
     public int getInitialCells() {
         return initialCells;
     }
-} 
\ No newline at end of file
+
+    public int getInitialCells(int size) {
+        return Math.round(initialCells * (size * size) / 81f);
+    }
+
+    public int getMinGrade() {
+        return minGrade;
+    }
+
+    public int getMaxGrade() {
+        return maxGrade;
+    }
+
+    public long distanceToGrade(int grade) {
+        if (grade < minGrade) {
+            return (long) minGrade - grade;
+        }
+        if (grade > maxGrade) {
+            return (long) grade - maxGrade;
+        }
+        return 0;
+    }
+
+    public static DifficultyLevel forGrade(int grade) {
+        for (DifficultyLevel level : values()) {
+            if (level.distanceToGrade(grade) == 0) {
+                return level;
+            }
+        }
+        return HARD;
+    }
+}
@@ -0,0 +1,22 @@
+package com.sudoku.model;
+
+public class Elimination {
+    private final int row;
+    private final int col;
+    private final int value;
+
+    public Elimination(int row, int col, int value) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+    }
+
+    public int getRow() { return row; }
+    public int getCol() { return col; }
+    public int getValue() { return value; }
+
+    @Override
+    public String toString() {
+        return value + " from (" + (row + 1) + "," + (col + 1) + ")";
+    }
+}
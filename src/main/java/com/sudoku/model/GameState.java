@@ -7,12 +7,14 @@ public class GameState implements Serializable {
     private final int[][] gridState;
     private final boolean[][] originalCells;
     private final int elapsedTime;
+    private final String puzzleId;
     
     public GameState(SudokuGrid grid, int elapsedTime) {
         int size = grid.getSize();
         this.gridState = new int[size][size];
         this.originalCells = new boolean[size][size];
         this.elapsedTime = elapsedTime;
+        this.puzzleId = grid.getPuzzleId() == null ? null : grid.getPuzzleId().toString();
         
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
@@ -22,6 +24,17 @@ public class GameState implements Serializable {
         }
     }
     
+    public GameState(int[][] gridState, boolean[][] originalCells, int elapsedTime) {
+        this(gridState, originalCells, elapsedTime, null);
+    }
+
+    public GameState(int[][] gridState, boolean[][] originalCells, int elapsedTime, String puzzleId) {
+        this.gridState = gridState;
+        this.originalCells = originalCells;
+        this.elapsedTime = elapsedTime;
+        this.puzzleId = puzzleId;
+    }
+    
     public int[][] getGridState() {
         return gridState;
     }
@@ -33,4 +46,8 @@ public class GameState implements Serializable {
     public int getElapsedTime() {
         return elapsedTime;
     }
+
+    public String getPuzzleId() {
+        return puzzleId;
+    }
 } 
\ No newline at end of file
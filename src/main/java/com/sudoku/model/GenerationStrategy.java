@@ -0,0 +1,6 @@
+package com.sudoku.model;
+
+public enum GenerationStrategy {
+    BACKTRACKING,
+    TRANSFORMATION
+}
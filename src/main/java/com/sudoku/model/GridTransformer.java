@@ -0,0 +1,139 @@
+package com.sudoku.model;
+
+import java.util.SplittableRandom;
+
+public class GridTransformer {
+    private final int size;
+    private final int subgridSize;
+    private final int[][] seed;
+    private final int[] rowOrder;
+    private final int[] colOrder;
+    private final int[] digitMap;
+    private final int[] groupOrder;
+    private final int[] memberOrder;
+
+    public GridTransformer(int size) {
+        this(patternGrid(size));
+    }
+
+    public GridTransformer(int[][] seed) {
+        this.size = seed.length;
+        this.subgridSize = (int) Math.sqrt(size);
+        if (!isCompleteSolution(seed)) {
+            throw new IllegalArgumentException("Seed must be a completely solved grid");
+        }
+        this.seed = new int[size][];
+        for (int i = 0; i < size; i++) {
+            this.seed[i] = seed[i].clone();
+        }
+        this.rowOrder = new int[size];
+        this.colOrder = new int[size];
+        this.digitMap = new int[size + 1];
+        this.groupOrder = new int[subgridSize];
+        this.memberOrder = new int[subgridSize];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void derive(int[][] target, SplittableRandom random) {
+        shuffleLines(rowOrder, random);
+        shuffleLines(colOrder, random);
+        for (int d = 1; d <= size; d++) {
+            digitMap[d] = d;
+        }
+        for (int d = size; d > 1; d--) {
+            swap(digitMap, d, 1 + random.nextInt(d));
+        }
+
+        boolean transpose = random.nextBoolean();
+        for (int i = 0; i < size; i++) {
+            int[] targetRow = target[i];
+            for (int j = 0; j < size; j++) {
+                int value = transpose ? seed[colOrder[j]][rowOrder[i]] : seed[rowOrder[i]][colOrder[j]];
+                targetRow[j] = digitMap[value];
+            }
+        }
+
+        int quarterTurns = random.nextInt(4);
+        for (int k = 0; k < quarterTurns; k++) {
+            rotateClockwise(target);
+        }
+    }
+
+    private void shuffleLines(int[] order, SplittableRandom random) {
+        for (int g = 0; g < subgridSize; g++) {
+            groupOrder[g] = g;
+        }
+        shuffle(groupOrder, random);
+        for (int g = 0; g < subgridSize; g++) {
+            for (int m = 0; m < subgridSize; m++) {
+                memberOrder[m] = m;
+            }
+            shuffle(memberOrder, random);
+            for (int m = 0; m < subgridSize; m++) {
+                order[g * subgridSize + m] = groupOrder[g] * subgridSize + memberOrder[m];
+            }
+        }
+    }
+
+    private void rotateClockwise(int[][] grid) {
+        for (int layer = 0; layer < size / 2; layer++) {
+            int last = size - 1 - layer;
+            for (int i = layer; i < last; i++) {
+                int offset = i - layer;
+                int top = grid[layer][i];
+                grid[layer][i] = grid[last - offset][layer];
+                grid[last - offset][layer] = grid[last][last - offset];
+                grid[last][last - offset] = grid[i][last];
+                grid[i][last] = top;
+            }
+        }
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            swap(values, i, random.nextInt(i + 1));
+        }
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static boolean isCompleteSolution(int[][] grid) {
+        int size = grid.length;
+        int subgridSize = (int) Math.sqrt(size);
+        if (subgridSize * subgridSize != size) {
+            return false;
+        }
+        for (int[] row : grid) {
+            if (row.length != size) {
+                return false;
+            }
+            for (int value : row) {
+                if (value == 0) {
+                    return false;
+                }
+            }
+        }
+        return new BitmaskSolver(size).countSolutions(grid, 1) == 1;
+    }
+
+    private static int[][] patternGrid(int size) {
+        int subgridSize = (int) Math.sqrt(size);
+        if (subgridSize * subgridSize != size) {
+            throw new IllegalArgumentException("Grid size must be a perfect square");
+        }
+        int[][] pattern = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                pattern[row][col] = (subgridSize * (row % subgridSize) + row / subgridSize + col) % size + 1;
+            }
+        }
+        return pattern;
+    }
+}
@@ -1,24 +1,49 @@
 package com.sudoku.model;
 
+import java.util.Collections;
 import java.util.List;
 
 public class Hint {
     private final int row;
     private final int col;
     private final List<Integer> validNumbers;
+    private final Technique technique;
+    private final int value;
+    private final List<Elimination> eliminations;
+    private final String explanation;
     
     public Hint(int row, int col, List<Integer> validNumbers) {
+        this(row, col, validNumbers, null, 0, Collections.emptyList(), null);
+    }
+    
+    public Hint(int row, int col, List<Integer> validNumbers, Technique technique, int value,
+                List<Elimination> eliminations, String explanation) {
         this.row = row;
         this.col = col;
         this.validNumbers = validNumbers;
+        this.technique = technique;
+        this.value = value;
+        this.eliminations = eliminations;
+        this.explanation = explanation;
     }
     
     public int getRow() { return row; }
     public int getCol() { return col; }
     public List<Integer> getValidNumbers() { return validNumbers; }
+    public Technique getTechnique() { return technique; }
+    public int getValue() { return value; }
+    public List<Elimination> getEliminations() { return eliminations; }
+    public String getExplanation() { return explanation; }
+    
+    public boolean isPlacement() {
+        return value != 0;
+    }
     
     @Override
     public String toString() {
+        if (technique != null) {
+            return technique.getDisplayName() + ": " + explanation;
+        }
         StringBuilder sb = new StringBuilder();
         sb.append("Try ");
         if (validNumbers.size() == 1) {
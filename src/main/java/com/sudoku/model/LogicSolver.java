@@ -0,0 +1,572 @@
+package com.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class LogicSolver {
+    private final int size;
+    private final int subgridSize;
+    private final int cellCount;
+    private final long fullMask;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+    private final int[][] unitCells;
+    private final int[] values;
+    private final long[] candidates;
+    private final long[] positions;
+    private final int[] subset;
+    private final int[] patternCells;
+    private final int[] eliminatedCells;
+    private final int[] eliminatedDigits;
+    private int filledCount;
+    private Technique stepTechnique;
+    private int stepCell;
+    private int stepValue;
+    private int stepUnit;
+    private long stepDigits;
+    private int patternCount;
+    private int eliminationCount;
+
+    public LogicSolver(int size) {
+        int root = (int) Math.round(Math.sqrt(size));
+        if (root * root != size) {
+            throw new IllegalArgumentException("Grid size must be a perfect square");
+        }
+        this.size = size;
+        this.subgridSize = root;
+        this.cellCount = size * size;
+        this.fullMask = (1L << size) - 1;
+        this.rowOf = new int[cellCount];
+        this.colOf = new int[cellCount];
+        this.boxOf = new int[cellCount];
+        this.unitCells = new int[3 * size][size];
+        int[] filled = new int[3 * size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            rowOf[cell] = row;
+            colOf[cell] = col;
+            boxOf[cell] = (row / subgridSize) * subgridSize + col / subgridSize;
+            unitCells[row][filled[row]++] = cell;
+            unitCells[size + col][filled[size + col]++] = cell;
+            unitCells[2 * size + boxOf[cell]][filled[2 * size + boxOf[cell]]++] = cell;
+        }
+        this.values = new int[cellCount];
+        this.candidates = new long[cellCount];
+        this.positions = new long[size];
+        this.subset = new int[size];
+        this.patternCells = new int[2 * size];
+        this.eliminatedCells = new int[cellCount];
+        this.eliminatedDigits = new int[cellCount];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void load(SudokuGrid grid) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            values[cell] = grid.getValue(rowOf[cell], colOf[cell]);
+        }
+        recomputeCandidates();
+    }
+
+    public void load(int[][] grid) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            values[cell] = grid[rowOf[cell]][colOf[cell]];
+        }
+        recomputeCandidates();
+    }
+
+    public void cellChanged(int row, int col, int oldValue, int newValue) {
+        int cell = row * size + col;
+        if (oldValue == 0 && newValue != 0 && values[cell] == 0) {
+            assign(cell, newValue);
+        } else if (values[cell] != newValue) {
+            values[cell] = newValue;
+            recomputeCandidates();
+        }
+    }
+
+    public void place(int row, int col, int value) {
+        assign(row * size + col, value);
+    }
+
+    public long getCandidates(int row, int col) {
+        return candidates[row * size + col];
+    }
+
+    public boolean isSolved() {
+        return filledCount == cellCount;
+    }
+
+    public boolean isStuck() {
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] == 0 && candidates[cell] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Optional<Hint> nextStep() {
+        Technique technique = step();
+        return technique == null ? Optional.empty() : Optional.of(describeStep());
+    }
+
+    public Technique step() {
+        stepTechnique = null;
+        stepUnit = -1;
+        stepValue = 0;
+        stepDigits = 0;
+        patternCount = 0;
+        eliminationCount = 0;
+
+        if (findNakedSingle()) {
+            stepTechnique = Technique.NAKED_SINGLE;
+        } else if (findHiddenSingle()) {
+            stepTechnique = Technique.HIDDEN_SINGLE;
+        } else if (findNakedSubset(2)) {
+            stepTechnique = Technique.NAKED_PAIR;
+        } else if (findHiddenSubset(2)) {
+            stepTechnique = Technique.HIDDEN_PAIR;
+        } else if (findPointing()) {
+            stepTechnique = Technique.POINTING_PAIR;
+        } else if (findBoxLineReduction()) {
+            stepTechnique = Technique.BOX_LINE_REDUCTION;
+        } else if (findNakedSubset(3)) {
+            stepTechnique = Technique.NAKED_TRIPLE;
+        } else if (findHiddenSubset(3)) {
+            stepTechnique = Technique.HIDDEN_TRIPLE;
+        } else if (findXWing()) {
+            stepTechnique = Technique.X_WING;
+        }
+
+        if (stepTechnique != null && !stepTechnique.isPlacement()) {
+            for (int i = 0; i < eliminationCount; i++) {
+                candidates[eliminatedCells[i]] &= ~(1L << (eliminatedDigits[i] - 1));
+            }
+        }
+        return stepTechnique;
+    }
+
+    public int getStepCell() {
+        return stepCell;
+    }
+
+    public int getStepValue() {
+        return stepValue;
+    }
+
+    public int getStepEliminationCount() {
+        return eliminationCount;
+    }
+
+    private void recomputeCandidates() {
+        long[] used = new long[3 * size];
+        filledCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] != 0) {
+                long bit = 1L << (values[cell] - 1);
+                used[rowOf[cell]] |= bit;
+                used[size + colOf[cell]] |= bit;
+                used[2 * size + boxOf[cell]] |= bit;
+                filledCount++;
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            candidates[cell] = values[cell] != 0 ? 0
+                    : ~(used[rowOf[cell]] | used[size + colOf[cell]] | used[2 * size + boxOf[cell]]) & fullMask;
+        }
+    }
+
+    private void assign(int cell, int value) {
+        long clearBit = ~(1L << (value - 1));
+        values[cell] = value;
+        candidates[cell] = 0;
+        filledCount++;
+        for (int peer : unitCells[rowOf[cell]]) {
+            candidates[peer] &= clearBit;
+        }
+        for (int peer : unitCells[size + colOf[cell]]) {
+            candidates[peer] &= clearBit;
+        }
+        for (int peer : unitCells[2 * size + boxOf[cell]]) {
+            candidates[peer] &= clearBit;
+        }
+    }
+
+    private boolean findNakedSingle() {
+        for (int cell = 0; cell < cellCount; cell++) {
+            long mask = candidates[cell];
+            if (values[cell] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                stepCell = cell;
+                stepValue = Long.numberOfTrailingZeros(mask) + 1;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean findHiddenSingle() {
+        for (int unit = 0; unit < unitCells.length; unit++) {
+            long once = 0;
+            long twice = 0;
+            for (int cell : unitCells[unit]) {
+                long mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            long single = once & ~twice;
+            if (single != 0) {
+                long bit = single & -single;
+                for (int cell : unitCells[unit]) {
+                    if ((candidates[cell] & bit) != 0) {
+                        stepCell = cell;
+                        stepValue = Long.numberOfTrailingZeros(bit) + 1;
+                        stepUnit = unit;
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean findNakedSubset(int k) {
+        for (int unit = 0; unit < unitCells.length; unit++) {
+            int count = 0;
+            for (int cell : unitCells[unit]) {
+                int bits = Long.bitCount(candidates[cell]);
+                if (bits >= 2 && bits <= k) {
+                    subset[count++] = cell;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    long pair = candidates[subset[i]] | candidates[subset[j]];
+                    if (k == 2) {
+                        if (Long.bitCount(pair) == 2
+                                && eliminateNakedSubset(unit, pair, subset[i], subset[j], -1)) {
+                            return true;
+                        }
+                        continue;
+                    }
+                    if (Long.bitCount(pair) > 3) {
+                        continue;
+                    }
+                    for (int l = j + 1; l < count; l++) {
+                        long triple = pair | candidates[subset[l]];
+                        if (Long.bitCount(triple) == 3
+                                && eliminateNakedSubset(unit, triple, subset[i], subset[j], subset[l])) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean eliminateNakedSubset(int unit, long digits, int a, int b, int c) {
+        for (int cell : unitCells[unit]) {
+            if (cell != a && cell != b && cell != c) {
+                addEliminations(cell, candidates[cell] & digits);
+            }
+        }
+        if (eliminationCount == 0) {
+            return false;
+        }
+        stepUnit = unit;
+        stepDigits = digits;
+        patternCells[patternCount++] = a;
+        patternCells[patternCount++] = b;
+        if (c >= 0) {
+            patternCells[patternCount++] = c;
+        }
+        stepCell = a;
+        return true;
+    }
+
+    private boolean findHiddenSubset(int k) {
+        for (int unit = 0; unit < unitCells.length; unit++) {
+            int[] cells = unitCells[unit];
+            int count = 0;
+            for (int digit = 0; digit < size; digit++) {
+                long bit = 1L << digit;
+                long where = 0;
+                for (int i = 0; i < size; i++) {
+                    if ((candidates[cells[i]] & bit) != 0) {
+                        where |= 1L << i;
+                    }
+                }
+                int places = Long.bitCount(where);
+                if (places >= 2 && places <= k) {
+                    positions[count] = where;
+                    subset[count++] = digit;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    long pair = positions[i] | positions[j];
+                    if (k == 2) {
+                        if (Long.bitCount(pair) == 2
+                                && eliminateHiddenSubset(unit, pair, (1L << subset[i]) | (1L << subset[j]))) {
+                            return true;
+                        }
+                        continue;
+                    }
+                    if (Long.bitCount(pair) > 3) {
+                        continue;
+                    }
+                    for (int l = j + 1; l < count; l++) {
+                        long triple = pair | positions[l];
+                        long digits = (1L << subset[i]) | (1L << subset[j]) | (1L << subset[l]);
+                        if (Long.bitCount(triple) == 3 && eliminateHiddenSubset(unit, triple, digits)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean eliminateHiddenSubset(int unit, long where, long digits) {
+        int[] cells = unitCells[unit];
+        for (long rest = where; rest != 0; rest &= rest - 1) {
+            int cell = cells[Long.numberOfTrailingZeros(rest)];
+            addEliminations(cell, candidates[cell] & ~digits);
+        }
+        if (eliminationCount == 0) {
+            return false;
+        }
+        stepUnit = unit;
+        stepDigits = digits;
+        for (long rest = where; rest != 0; rest &= rest - 1) {
+            patternCells[patternCount++] = cells[Long.numberOfTrailingZeros(rest)];
+        }
+        stepCell = patternCells[0];
+        return true;
+    }
+
+    private boolean findPointing() {
+        for (int box = 0; box < size; box++) {
+            int[] cells = unitCells[2 * size + box];
+            for (int digit = 0; digit < size; digit++) {
+                long bit = 1L << digit;
+                int row = -1;
+                int col = -1;
+                int places = 0;
+                for (int cell : cells) {
+                    if ((candidates[cell] & bit) != 0) {
+                        row = places == 0 ? rowOf[cell] : (row == rowOf[cell] ? row : -2);
+                        col = places == 0 ? colOf[cell] : (col == colOf[cell] ? col : -2);
+                        places++;
+                    }
+                }
+                if (places < 2) {
+                    continue;
+                }
+                if (row >= 0 && eliminateOutsideBox(row, box, bit)) {
+                    recordPattern(2 * size + box, cells, bit);
+                    return true;
+                }
+                if (col >= 0 && eliminateOutsideBox(size + col, box, bit)) {
+                    recordPattern(2 * size + box, cells, bit);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean eliminateOutsideBox(int line, int box, long bit) {
+        for (int cell : unitCells[line]) {
+            if (boxOf[cell] != box) {
+                addEliminations(cell, candidates[cell] & bit);
+            }
+        }
+        return eliminationCount > 0;
+    }
+
+    private boolean findBoxLineReduction() {
+        for (int line = 0; line < 2 * size; line++) {
+            int[] cells = unitCells[line];
+            for (int digit = 0; digit < size; digit++) {
+                long bit = 1L << digit;
+                int box = -1;
+                int places = 0;
+                for (int cell : cells) {
+                    if ((candidates[cell] & bit) != 0) {
+                        box = places == 0 ? boxOf[cell] : (box == boxOf[cell] ? box : -2);
+                        places++;
+                    }
+                }
+                if (places < 2 || box < 0) {
+                    continue;
+                }
+                for (int cell : unitCells[2 * size + box]) {
+                    boolean onLine = line < size ? rowOf[cell] == line : colOf[cell] == line - size;
+                    if (!onLine) {
+                        addEliminations(cell, candidates[cell] & bit);
+                    }
+                }
+                if (eliminationCount > 0) {
+                    recordPattern(line, cells, bit);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean findXWing() {
+        for (int orientation = 0; orientation < 2; orientation++) {
+            int base = orientation == 0 ? 0 : size;
+            for (int digit = 0; digit < size; digit++) {
+                long bit = 1L << digit;
+                for (int line = 0; line < size; line++) {
+                    positions[line] = linePositions(base + line, bit);
+                }
+                for (int first = 0; first < size; first++) {
+                    if (Long.bitCount(positions[first]) != 2) {
+                        continue;
+                    }
+                    for (int second = first + 1; second < size; second++) {
+                        if (positions[second] != positions[first]) {
+                            continue;
+                        }
+                        int crossBase = orientation == 0 ? size : 0;
+                        for (long rest = positions[first]; rest != 0; rest &= rest - 1) {
+                            int cross = Long.numberOfTrailingZeros(rest);
+                            for (int cell : unitCells[crossBase + cross]) {
+                                int lineOfCell = orientation == 0 ? rowOf[cell] : colOf[cell];
+                                if (lineOfCell != first && lineOfCell != second) {
+                                    addEliminations(cell, candidates[cell] & bit);
+                                }
+                            }
+                        }
+                        if (eliminationCount > 0) {
+                            stepUnit = base + first;
+                            stepDigits = bit;
+                            for (int line : new int[] {first, second}) {
+                                for (long rest = positions[first]; rest != 0; rest &= rest - 1) {
+                                    patternCells[patternCount++] = unitCells[base + line][Long.numberOfTrailingZeros(rest)];
+                                }
+                            }
+                            stepCell = patternCells[0];
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private long linePositions(int unit, long bit) {
+        long where = 0;
+        int[] cells = unitCells[unit];
+        for (int i = 0; i < size; i++) {
+            if ((candidates[cells[i]] & bit) != 0) {
+                where |= 1L << i;
+            }
+        }
+        return where;
+    }
+
+    private void recordPattern(int unit, int[] cells, long bit) {
+        stepUnit = unit;
+        stepDigits = bit;
+        for (int cell : cells) {
+            if ((candidates[cell] & bit) != 0) {
+                patternCells[patternCount++] = cell;
+            }
+        }
+        stepCell = patternCells[0];
+    }
+
+    private void addEliminations(int cell, long digits) {
+        for (long rest = digits; rest != 0; rest &= rest - 1) {
+            eliminatedCells[eliminationCount] = cell;
+            eliminatedDigits[eliminationCount++] = Long.numberOfTrailingZeros(rest) + 1;
+        }
+    }
+
+    private Hint describeStep() {
+        int row = rowOf[stepCell];
+        int col = colOf[stepCell];
+        if (stepTechnique.isPlacement()) {
+            String explanation;
+            if (stepTechnique == Technique.NAKED_SINGLE) {
+                explanation = "cell " + cellName(stepCell) + " can only be " + stepValue;
+            } else {
+                explanation = stepValue + " can only go in cell " + cellName(stepCell) + " within " + unitName(stepUnit);
+            }
+            return new Hint(row, col, Collections.singletonList(stepValue), stepTechnique, stepValue,
+                    Collections.emptyList(), explanation);
+        }
+
+        List<Elimination> eliminations = new ArrayList<>(eliminationCount);
+        for (int i = 0; i < eliminationCount; i++) {
+            int cell = eliminatedCells[i];
+            eliminations.add(new Elimination(rowOf[cell], colOf[cell], eliminatedDigits[i]));
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(digitList(stepDigits)).append(" in cells ");
+        for (int i = 0; i < patternCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(cellName(patternCells[i]));
+        }
+        if (stepUnit >= 0 && stepTechnique != Technique.X_WING) {
+            sb.append(" of ").append(unitName(stepUnit));
+        }
+        sb.append(", so remove ");
+        for (int i = 0; i < eliminations.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(eliminations.get(i));
+        }
+        return new Hint(row, col, candidateList(stepCell), stepTechnique, 0, eliminations, sb.toString());
+    }
+
+    private List<Integer> candidateList(int cell) {
+        List<Integer> list = new ArrayList<>(Long.bitCount(candidates[cell]));
+        for (long rest = candidates[cell]; rest != 0; rest &= rest - 1) {
+            list.add(Long.numberOfTrailingZeros(rest) + 1);
+        }
+        return list;
+    }
+
+    private String digitList(long digits) {
+        StringBuilder sb = new StringBuilder();
+        for (long rest = digits; rest != 0; rest &= rest - 1) {
+            if (sb.length() > 0) {
+                sb.append("/");
+            }
+            sb.append(Long.numberOfTrailingZeros(rest) + 1);
+        }
+        return sb.toString();
+    }
+
+    private String cellName(int cell) {
+        return "(" + (rowOf[cell] + 1) + "," + (colOf[cell] + 1) + ")";
+    }
+
+    private String unitName(int unit) {
+        if (unit < size) {
+            return "row " + (unit + 1);
+        }
+        if (unit < 2 * size) {
+            return "column " + (unit - size + 1);
+        }
+        return "box " + (unit - 2 * size + 1);
+    }
+}
@@ -0,0 +1,117 @@
+package com.sudoku.model;
+
+import java.util.Objects;
+
+public final class PuzzleId {
+    // Bump whenever a change to generation makes an existing id produce a different puzzle.
+    public static final int GENERATOR_VERSION = 1;
+    public static final int MAX_GRADE_ATTEMPTS = 64;
+    public static final int DEFAULT_GRADE_ATTEMPTS =
+            Math.min(MAX_GRADE_ATTEMPTS, Math.max(1, Integer.getInteger("sudoku.grade.attempts", 16)));
+
+    private final int size;
+    private final DifficultyLevel level;
+    private final GenerationStrategy strategy;
+    private final int gradeAttempts;
+    private final long seed;
+
+    public PuzzleId(int size, DifficultyLevel level, GenerationStrategy strategy, long seed) {
+        this(size, level, strategy, DEFAULT_GRADE_ATTEMPTS, seed);
+    }
+
+    public PuzzleId(int size, DifficultyLevel level, GenerationStrategy strategy, int gradeAttempts, long seed) {
+        int root = (int) Math.round(Math.sqrt(size));
+        if (root * root != size || size < SudokuGrid.MIN_SIZE || size > SudokuGrid.MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported grid size in puzzle id: " + size);
+        }
+        if (gradeAttempts < 1 || gradeAttempts > MAX_GRADE_ATTEMPTS) {
+            throw new IllegalArgumentException("Grade attempts must be between 1 and " + MAX_GRADE_ATTEMPTS);
+        }
+        this.size = size;
+        this.level = Objects.requireNonNull(level);
+        this.strategy = Objects.requireNonNull(strategy);
+        this.gradeAttempts = gradeAttempts;
+        this.seed = seed;
+    }
+
+    // Format: v<version>-<size><difficulty initial><strategy initial>-<grade attempts>-<16 hex digit seed>,
+    // e.g. v1-9HB-16-00000000075bcd15
+    public static PuzzleId parse(String text) {
+        String[] parts = text.split("-", -1);
+        if (parts.length != 4 || !parts[0].startsWith("v") || parts[1].length() < 3 || parts[3].length() != 16) {
+            throw new IllegalArgumentException("Invalid puzzle id: " + text);
+        }
+        try {
+            int version = Integer.parseInt(parts[0].substring(1));
+            if (version != GENERATOR_VERSION) {
+                throw new IllegalArgumentException("Unsupported generator version in puzzle id: " + text);
+            }
+            String shape = parts[1];
+            int size = Integer.parseInt(shape.substring(0, shape.length() - 2));
+            DifficultyLevel level = byInitial(DifficultyLevel.values(), shape.charAt(shape.length() - 2));
+            GenerationStrategy strategy = byInitial(GenerationStrategy.values(), shape.charAt(shape.length() - 1));
+            int gradeAttempts = Integer.parseInt(parts[2]);
+            long seed = Long.parseUnsignedLong(parts[3], 16);
+            if (level == null || strategy == null || gradeAttempts < 1) {
+                throw new IllegalArgumentException("Invalid puzzle id: " + text);
+            }
+            return new PuzzleId(size, level, strategy, gradeAttempts, seed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid puzzle id: " + text);
+        }
+    }
+
+    private static <E extends Enum<E>> E byInitial(E[] values, char initial) {
+        for (E value : values) {
+            if (value.name().charAt(0) == initial) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public DifficultyLevel getLevel() {
+        return level;
+    }
+
+    public GenerationStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getGradeAttempts() {
+        return gradeAttempts;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PuzzleId)) {
+            return false;
+        }
+        PuzzleId other = (PuzzleId) o;
+        return size == other.size && level == other.level && strategy == other.strategy
+                && gradeAttempts == other.gradeAttempts && seed == other.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, level, strategy, gradeAttempts, seed);
+    }
+
+    @Override
+    public String toString() {
+        String hex = Long.toHexString(seed);
+        return "v" + GENERATOR_VERSION + "-" + size + level.name().charAt(0) + strategy.name().charAt(0)
+                + "-" + gradeAttempts + "-" + "0000000000000000".substring(hex.length()) + hex;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sudoku.model;
+
+public interface Solver {
+    boolean solve(int[][] grid);
+
+    int countSolutions(int[][] grid, int limit);
+
+    long getNodeCount();
+
+    long getBacktrackCount();
+}
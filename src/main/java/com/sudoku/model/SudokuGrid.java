@@ -1,30 +1,171 @@
 package com.sudoku.model;
 
+import com.sudoku.utils.Histogram;
+import com.sudoku.utils.Metrics;
+
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 public class SudokuGrid {
+    public static final int MIN_SIZE = 4;
+    public static final int MAX_SIZE = 36;
+    private static final int INITIAL_BUDGET_PER_CELL = 4;
+    private static final int HIDDEN_SINGLE_MIN_SIZE = 25;
+    private static final int UNIQUENESS_BUDGET = 64;
+    private static final Histogram GENERATION_LATENCY = Metrics.histogram("generation.latency");
+    private static final LongAdder GENERATION_ATTEMPTS = Metrics.counter("generation.attempts");
+    private static final LongAdder GENERATION_RESTARTS = Metrics.counter("generation.restarts");
+    private static final LongAdder GENERATION_NODES = Metrics.counter("generation.nodes");
+    private static final LongAdder GRADE_MISSES = Metrics.counter("generation.grade.misses");
+    private static final Histogram SOLVE_LATENCY = Metrics.histogram("solver.latency");
+    private static final LongAdder SOLVER_NODES = Metrics.counter("solver.nodes");
+    private static final LongAdder SOLVER_BACKTRACKS = Metrics.counter("solver.backtracks");
+    private static final long SOLVER_NODE_LIMIT = Long.getLong("sudoku.solver.nodeLimit", 50_000_000L);
+    private static final Histogram HINT_LATENCY = Metrics.histogram("hint.latency");
+    private static final LongAdder HINT_FALLBACKS = Metrics.counter("hint.fallbacks");
+    private static final Map<Technique, LongAdder> TECHNIQUE_COUNTERS = new EnumMap<>(Technique.class);
+
+    static {
+        for (Technique technique : Technique.values()) {
+            TECHNIQUE_COUNTERS.put(technique, Metrics.counter("hint.technique." + technique.name()));
+        }
+    }
+
     private final int[][] grid;
     private final boolean[][] originalCells;
     private final int size;
     private final int subgridSize;
-    private final Random random;
+    private final long[] rowMasks;
+    private final long[] colMasks;
+    private final long[] boxMasks;
+    private final int[] rowCounts;
+    private final int[] colCounts;
+    private final int[] boxCounts;
+    private int filledCount;
+    private int conflictCount;
+    private SplittableRandom random;
+    private PuzzleId puzzleId;
+    private boolean customSeedGrid;
+    private Solver solver;
+    private BitmaskSolver uniquenessChecker;
+    private boolean uniqueSolutionRequired;
+    private GenerationStrategy generationStrategy;
+    private GridTransformer transformer;
+    private LogicSolver logic;
+    private DifficultyGrader grader;
+    private int grade;
+    private int[] searchCells;
+    private long searchNodes;
+    private long searchBudget;
 
     public SudokuGrid(int size) {
-        if (size != 9 && size != 16) {
-            throw new IllegalArgumentException("Grid size must be 9 or 16");
+        int root = (int) Math.round(Math.sqrt(size));
+        if (root * root != size || size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Grid size must be a perfect square between " + MIN_SIZE + " and " + MAX_SIZE);
         }
         this.size = size;
-        this.subgridSize = (int) Math.sqrt(size);
+        this.subgridSize = root;
         this.grid = new int[size][size];
         this.originalCells = new boolean[size][size];
-        this.random = new Random();
+        this.rowMasks = new long[size];
+        this.colMasks = new long[size];
+        this.boxMasks = new long[size];
+        this.rowCounts = new int[size * size];
+        this.colCounts = new int[size * size];
+        this.boxCounts = new int[size * size];
+        this.uniqueSolutionRequired = true;
+        this.generationStrategy = GenerationStrategy.BACKTRACKING;
     }
 
     public void generatePuzzle(DifficultyLevel level) {
-        clearGrid();
-        generateSolution(0, 0);
-        removeCells(level.getInitialCells());
+        generatePuzzle(level, ThreadLocalRandom.current().nextLong());
+    }
+
+    public void generatePuzzle(DifficultyLevel level, long seed) {
+        generate(new PuzzleId(size, level, generationStrategy, seed));
+    }
+
+    public void generatePuzzle(PuzzleId id) {
+        if (id.getSize() != size) {
+            throw new IllegalArgumentException("Puzzle id size does not match grid size");
+        }
+        generate(id);
+    }
+
+    private void generate(PuzzleId id) {
+        long start = System.nanoTime();
+        DifficultyLevel level = id.getLevel();
+        random = new SplittableRandom(id.getSeed());
+        logic = null;
+        if (grader == null) {
+            grader = new DifficultyGrader(size);
+        }
+        int attempts = (int) Math.max(1, id.getGradeAttempts() * 81L / (size * size));
+        int[][] best = null;
+        int bestGrade = 0;
+        long bestDistance = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            GENERATION_ATTEMPTS.increment();
+            generateCandidate(level, id.getStrategy());
+            int candidateGrade = grader.grade(grid);
+            long distance = level.distanceToGrade(candidateGrade);
+            if (distance == 0) {
+                best = null;
+                bestGrade = candidateGrade;
+                break;
+            }
+            if (distance < bestDistance) {
+                best = copyValues();
+                bestGrade = candidateGrade;
+                bestDistance = distance;
+            }
+        }
+        if (best != null) {
+            GRADE_MISSES.increment();
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(best[i], 0, grid[i], 0, size);
+            }
+            rebuildMasks();
+        }
+        grade = bestGrade;
+        puzzleId = customSeedGrid || !uniqueSolutionRequired ? null : id;
         markOriginalCells();
+        GENERATION_LATENCY.recordSince(start);
+    }
+
+    private void generateCandidate(DifficultyLevel level, GenerationStrategy strategy) {
+        clearGrid();
+        if (strategy == GenerationStrategy.TRANSFORMATION) {
+            deriveSolution();
+        } else {
+            generateSolution();
+        }
+        if (uniqueSolutionRequired) {
+            removeCellsKeepingUniqueSolution(level.getInitialCells(size));
+        } else {
+            removeCells(level.getInitialCells(size));
+        }
+    }
+
+    public PuzzleId getPuzzleId() {
+        return puzzleId;
+    }
+
+    public int getGrade() {
+        if (grade < 0) {
+            int[][] clues = new int[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    clues[i][j] = originalCells[i][j] ? grid[i][j] : 0;
+                }
+            }
+            if (grader == null) {
+                grader = new DifficultyGrader(size);
+            }
+            grade = grader.grade(clues);
+        }
+        return grade;
     }
 
     private void clearGrid() {
@@ -32,37 +173,251 @@ public class SudokuGrid {
             Arrays.fill(grid[i], 0);
             Arrays.fill(originalCells[i], false);
         }
+        resetConstraints();
     }
 
-    private boolean generateSolution(int row, int col) {
-        if (col >= size) {
-            row++;
-            col = 0;
+    private void resetConstraints() {
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(colMasks, 0);
+        Arrays.fill(boxMasks, 0);
+        Arrays.fill(rowCounts, 0);
+        Arrays.fill(colCounts, 0);
+        Arrays.fill(boxCounts, 0);
+        filledCount = 0;
+        conflictCount = 0;
+    }
+
+    private int boxIndex(int row, int col) {
+        return (row / subgridSize) * subgridSize + col / subgridSize;
+    }
+
+    private void place(int row, int col, int num) {
+        grid[row][col] = num;
+        long bit = 1L << (num - 1);
+        int digit = num - 1;
+        int box = boxIndex(row, col);
+        filledCount++;
+        rowMasks[row] |= bit;
+        colMasks[col] |= bit;
+        boxMasks[box] |= bit;
+        if (++rowCounts[row * size + digit] == 2) {
+            conflictCount++;
+        }
+        if (++colCounts[col * size + digit] == 2) {
+            conflictCount++;
         }
-        if (row >= size) {
+        if (++boxCounts[box * size + digit] == 2) {
+            conflictCount++;
+        }
+    }
+
+    private void clear(int row, int col) {
+        int num = grid[row][col];
+        if (num == 0) {
+            return;
+        }
+        grid[row][col] = 0;
+        long bit = ~(1L << (num - 1));
+        int digit = num - 1;
+        int box = boxIndex(row, col);
+        filledCount--;
+        rowMasks[row] &= releaseDigit(rowCounts, row * size + digit, bit);
+        colMasks[col] &= releaseDigit(colCounts, col * size + digit, bit);
+        boxMasks[box] &= releaseDigit(boxCounts, box * size + digit, bit);
+    }
+
+    private long releaseDigit(int[] counts, int index, long clearMask) {
+        int remaining = --counts[index];
+        if (remaining == 1) {
+            conflictCount--;
+        }
+        return remaining == 0 ? clearMask : -1L;
+    }
+
+    private void rebuildMasks() {
+        resetConstraints();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int num = grid[i][j];
+                if (num != 0) {
+                    place(i, j, num);
+                }
+            }
+        }
+    }
+
+    private long usedMask(int row, int col) {
+        return rowMasks[row] | colMasks[col] | boxMasks[boxIndex(row, col)];
+    }
+
+    public long getCandidateMask(int row, int col) {
+        if (grid[row][col] != 0) {
+            return 0;
+        }
+        return ~usedMask(row, col) & ((1L << size) - 1);
+    }
+
+    public int getCandidateCount(int row, int col) {
+        return Long.bitCount(getCandidateMask(row, col));
+    }
+
+    private void deriveSolution() {
+        if (transformer == null) {
+            transformer = new GridTransformer(size);
+        }
+        transformer.derive(grid, random);
+        rebuildMasks();
+    }
+
+    private void generateSolution() {
+        int cellCount = size * size;
+        if (searchCells == null) {
+            searchCells = new int[cellCount];
+        }
+        long budget = (long) cellCount * INITIAL_BUDGET_PER_CELL;
+        while (true) {
+            for (int i = 0; i < cellCount; i++) {
+                searchCells[i] = i;
+            }
+            searchNodes = 0;
+            searchBudget = budget;
+            boolean filled = fillRandomly(0);
+            GENERATION_NODES.add(searchNodes);
+            if (filled) {
+                return;
+            }
+            GENERATION_RESTARTS.increment();
+            clearGrid();
+            budget *= 2;
+        }
+    }
+
+    private boolean fillRandomly(int depth) {
+        int cellCount = size * size;
+        if (depth == cellCount) {
             return true;
         }
 
-        List<Integer> numbers = getShuffledNumbers();
-        for (int num : numbers) {
-            if (isValidMove(row, col, num)) {
-                grid[row][col] = num;
-                if (generateSolution(row, col + 1)) {
-                    return true;
+        int bestIndex = depth;
+        long bestMask = 0;
+        int bestCount = size + 1;
+        for (int i = depth; i < cellCount; i++) {
+            int cell = searchCells[i];
+            long mask = getCandidateMask(cell / size, cell % size);
+            int count = Long.bitCount(mask);
+            if (count < bestCount) {
+                bestIndex = i;
+                bestMask = mask;
+                bestCount = count;
+                if (count <= 1) {
+                    break;
+                }
+            }
+        }
+        if (bestCount == 0) {
+            return false;
+        }
+        if (bestCount > 1 && size >= HIDDEN_SINGLE_MIN_SIZE) {
+            int forced = findHiddenSingle();
+            if (forced == -1) {
+                return false;
+            }
+            if (forced > 0) {
+                int forcedCell = forced / (size + 1);
+                bestMask = 1L << (forced % (size + 1) - 1);
+                for (int i = depth; i < cellCount; i++) {
+                    if (searchCells[i] == forcedCell) {
+                        bestIndex = i;
+                        break;
+                    }
                 }
-                grid[row][col] = 0;
+            }
+        }
+
+        int cell = searchCells[bestIndex];
+        searchCells[bestIndex] = searchCells[depth];
+        searchCells[depth] = cell;
+        int row = cell / size;
+        int col = cell % size;
+
+        long remaining = bestMask;
+        while (remaining != 0) {
+            if (++searchNodes > searchBudget) {
+                return false;
+            }
+            int pick = random.nextInt(Long.bitCount(remaining));
+            long bit = remaining;
+            for (int k = 0; k < pick; k++) {
+                bit &= bit - 1;
+            }
+            bit &= -bit;
+            remaining &= ~bit;
+
+            place(row, col, Long.numberOfTrailingZeros(bit) + 1);
+            if (fillRandomly(depth + 1)) {
+                return true;
+            }
+            clear(row, col);
+            if (searchNodes > searchBudget) {
+                return false;
             }
         }
         return false;
     }
 
-    private List<Integer> getShuffledNumbers() {
-        List<Integer> numbers = new ArrayList<>();
-        for (int i = 1; i <= size; i++) {
-            numbers.add(i);
+    private int findHiddenSingle() {
+        long fullMask = (1L << size) - 1;
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int kind = unit / size;
+            int index = unit % size;
+            long once = 0;
+            long twice = 0;
+            for (int k = 0; k < size; k++) {
+                int row = unitRow(kind, index, k);
+                int col = unitCol(kind, index, k);
+                if (grid[row][col] == 0) {
+                    long mask = getCandidateMask(row, col);
+                    twice |= once & mask;
+                    once |= mask;
+                }
+            }
+            long placed = kind == 0 ? rowMasks[index] : kind == 1 ? colMasks[index] : boxMasks[index];
+            if ((once | placed) != fullMask) {
+                return -1;
+            }
+            long single = once & ~twice;
+            if (single != 0) {
+                long bit = single & -single;
+                for (int k = 0; k < size; k++) {
+                    int row = unitRow(kind, index, k);
+                    int col = unitCol(kind, index, k);
+                    if (grid[row][col] == 0 && (getCandidateMask(row, col) & bit) != 0) {
+                        return (row * size + col) * (size + 1) + Long.numberOfTrailingZeros(bit) + 1;
+                    }
+                }
+            }
         }
-        Collections.shuffle(numbers, random);
-        return numbers;
+        return 0;
+    }
+
+    private int unitRow(int kind, int index, int k) {
+        if (kind == 0) {
+            return index;
+        }
+        if (kind == 1) {
+            return k;
+        }
+        return (index / subgridSize) * subgridSize + k / subgridSize;
+    }
+
+    private int unitCol(int kind, int index, int k) {
+        if (kind == 0) {
+            return k;
+        }
+        if (kind == 1) {
+            return index;
+        }
+        return (index % subgridSize) * subgridSize + k % subgridSize;
     }
 
     private void removeCells(int cellsToKeep) {
@@ -71,12 +426,43 @@ public class SudokuGrid {
             int row = random.nextInt(size);
             int col = random.nextInt(size);
             if (grid[row][col] != 0) {
-                grid[row][col] = 0;
+                clear(row, col);
                 cellsToRemove--;
             }
         }
     }
 
+    private void removeCellsKeepingUniqueSolution(int cellsToKeep) {
+        int cellCount = size * size;
+        int[] order = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            order[i] = i;
+        }
+        for (int i = cellCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        if (uniquenessChecker == null) {
+            uniquenessChecker = new BitmaskSolver(size);
+            uniquenessChecker.setNodeLimit((long) cellCount * Math.max(1, UNIQUENESS_BUDGET / size));
+        }
+        int filled = cellCount;
+        for (int i = 0; i < cellCount && filled > cellsToKeep; i++) {
+            int row = order[i] / size;
+            int col = order[i] % size;
+            int value = grid[row][col];
+            clear(row, col);
+            if (uniquenessChecker.countSolutions(grid, 2) == 1 && !uniquenessChecker.isNodeLimitReached()) {
+                filled--;
+            } else {
+                place(row, col, value);
+            }
+        }
+    }
+
     private void markOriginalCells() {
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
@@ -86,59 +472,91 @@ public class SudokuGrid {
     }
 
     public boolean isValidMove(int row, int col, int num) {
-        return isValidInRow(row, num) && 
-               isValidInColumn(col, num) && 
-               isValidInSubgrid(row, col, num);
+        if (num < 1 || num > size) {
+            return false;
+        }
+        return (usedMask(row, col) & (1L << (num - 1))) == 0;
     }
 
-    private boolean isValidInRow(int row, int num) {
-        for (int j = 0; j < size; j++) {
-            if (grid[row][j] == num) return false;
-        }
-        return true;
+    public boolean isSolved() {
+        return filledCount == size * size && conflictCount == 0;
     }
 
-    private boolean isValidInColumn(int col, int num) {
-        for (int i = 0; i < size; i++) {
-            if (grid[i][col] == num) return false;
-        }
-        return true;
+    public boolean isComplete() {
+        return filledCount == size * size;
     }
 
-    private boolean isValidInSubgrid(int row, int col, int num) {
-        int startRow = (row / subgridSize) * subgridSize;
-        int startCol = (col / subgridSize) * subgridSize;
-        
-        for (int i = 0; i < subgridSize; i++) {
-            for (int j = 0; j < subgridSize; j++) {
-                if (grid[startRow + i][startCol + j] == num) return false;
+    public int getFilledCount() {
+        return filledCount;
+    }
+
+    public boolean hasConflicts() {
+        return conflictCount > 0;
+    }
+
+    public int getConflictCount() {
+        return conflictCount;
+    }
+
+    public Set<Integer> getConflictingCells() {
+        if (conflictCount == 0) {
+            return Collections.emptySet();
+        }
+        Set<Integer> cells = new TreeSet<>();
+        for (int unit = 0; unit < size; unit++) {
+            for (int digit = 0; digit < size; digit++) {
+                if (rowCounts[unit * size + digit] > 1) {
+                    collectConflicts(cells, 0, unit, digit + 1);
+                }
+                if (colCounts[unit * size + digit] > 1) {
+                    collectConflicts(cells, 1, unit, digit + 1);
+                }
+                if (boxCounts[unit * size + digit] > 1) {
+                    collectConflicts(cells, 2, unit, digit + 1);
+                }
             }
         }
-        return true;
+        return cells;
     }
 
-    public boolean isSolved() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (grid[i][j] == 0 || !isValidMove(i, j, grid[i][j])) {
-                    return false;
-                }
+    private void collectConflicts(Set<Integer> cells, int kind, int index, int num) {
+        for (int k = 0; k < size; k++) {
+            int row = unitRow(kind, index, k);
+            int col = unitCol(kind, index, k);
+            if (grid[row][col] == num) {
+                cells.add(row * size + col);
             }
         }
-        return true;
     }
 
     public Optional<Hint> getHint() {
+        long start = System.nanoTime();
+        if (logic == null) {
+            logic = new LogicSolver(size);
+            logic.load(this);
+        }
+        Optional<Hint> hint = logic.isStuck() ? Optional.empty() : logic.nextStep();
+        if (hint.isPresent()) {
+            TECHNIQUE_COUNTERS.get(hint.get().getTechnique()).increment();
+        } else {
+            HINT_FALLBACKS.increment();
+            hint = getCandidateHint();
+        }
+        HINT_LATENCY.recordSince(start);
+        return hint;
+    }
+
+    private Optional<Hint> getCandidateHint() {
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
                 if (grid[i][j] == 0) {
-                    List<Integer> validNumbers = new ArrayList<>();
-                    for (int num = 1; num <= size; num++) {
-                        if (isValidMove(i, j, num)) {
-                            validNumbers.add(num);
+                    long candidates = getCandidateMask(i, j);
+                    if (candidates != 0) {
+                        List<Integer> validNumbers = new ArrayList<>(Long.bitCount(candidates));
+                        while (candidates != 0) {
+                            validNumbers.add(Long.numberOfTrailingZeros(candidates) + 1);
+                            candidates &= candidates - 1;
                         }
-                    }
-                    if (!validNumbers.isEmpty()) {
                         return Optional.of(new Hint(i, j, validNumbers));
                     }
                 }
@@ -147,6 +565,79 @@ public class SudokuGrid {
         return Optional.empty();
     }
 
+    public boolean isUniqueSolutionRequired() {
+        return uniqueSolutionRequired;
+    }
+
+    public void setUniqueSolutionRequired(boolean uniqueSolutionRequired) {
+        this.uniqueSolutionRequired = uniqueSolutionRequired;
+    }
+
+    public GenerationStrategy getGenerationStrategy() {
+        return generationStrategy;
+    }
+
+    public void setGenerationStrategy(GenerationStrategy generationStrategy) {
+        this.generationStrategy = generationStrategy;
+    }
+
+    public void setSeedGrid(int[][] seed) {
+        if (seed.length != size) {
+            throw new IllegalArgumentException("Seed grid size does not match");
+        }
+        this.transformer = new GridTransformer(seed);
+        this.customSeedGrid = true;
+    }
+
+    public Solver getSolver() {
+        if (solver == null) {
+            BitmaskSolver bitmask = new BitmaskSolver(size);
+            bitmask.setNodeLimit(SOLVER_NODE_LIMIT);
+            solver = bitmask;
+        }
+        return solver;
+    }
+
+    public void setSolver(Solver solver) {
+        this.solver = solver;
+    }
+
+    public int countSolutions(int limit) {
+        long start = System.nanoTime();
+        int count = getSolver().countSolutions(copyValues(), limit);
+        recordSolve(start);
+        return count;
+    }
+
+    private void recordSolve(long start) {
+        SOLVE_LATENCY.recordSince(start);
+        SOLVER_NODES.add(solver.getNodeCount());
+        SOLVER_BACKTRACKS.add(solver.getBacktrackCount());
+        if (solver instanceof BitmaskSolver && ((BitmaskSolver) solver).isNodeLimitReached()) {
+            throw new IllegalStateException("Solver gave up after " + solver.getNodeCount() + " nodes");
+        }
+    }
+
+    public boolean hasUniqueSolution() {
+        return countSolutions(2) == 1;
+    }
+
+    public Optional<int[][]> solve() {
+        long start = System.nanoTime();
+        int[][] values = copyValues();
+        boolean solved = getSolver().solve(values);
+        recordSolve(start);
+        return solved ? Optional.of(values) : Optional.empty();
+    }
+
+    private int[][] copyValues() {
+        int[][] values = new int[size][];
+        for (int i = 0; i < size; i++) {
+            values[i] = grid[i].clone();
+        }
+        return values;
+    }
+
     public int getValue(int row, int col) {
         return grid[row][col];
     }
@@ -155,8 +646,18 @@ public class SudokuGrid {
         if (row < 0 || row >= size || col < 0 || col >= size) {
             throw new IllegalArgumentException("Invalid row or column index");
         }
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException("Invalid cell value");
+        }
         if (!originalCells[row][col]) {
-            grid[row][col] = value;
+            int oldValue = grid[row][col];
+            clear(row, col);
+            if (value != 0) {
+                place(row, col, value);
+            }
+            if (logic != null && oldValue != value) {
+                logic.cellChanged(row, col, oldValue, value);
+            }
         }
     }
 
@@ -171,10 +672,25 @@ public class SudokuGrid {
     public void loadState(GameState state) {
         int[][] newGrid = state.getGridState();
         boolean[][] newOriginalCells = state.getOriginalCells();
+        if (newGrid.length != size || newOriginalCells.length != size) {
+            throw new IllegalArgumentException("Saved game is " + newGrid.length + "x" + newGrid.length
+                    + " but the grid is " + size + "x" + size);
+        }
         
         for (int i = 0; i < size; i++) {
             System.arraycopy(newGrid[i], 0, grid[i], 0, size);
             System.arraycopy(newOriginalCells[i], 0, originalCells[i], 0, size);
         }
+        rebuildMasks();
+        logic = null;
+        grade = -1;
+        puzzleId = null;
+        if (state.getPuzzleId() != null) {
+            try {
+                puzzleId = PuzzleId.parse(state.getPuzzleId());
+            } catch (IllegalArgumentException e) {
+                // An id from another generator version cannot reproduce this puzzle.
+            }
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.sudoku.model;
+
+public enum Technique {
+    NAKED_SINGLE("Naked Single", 1),
+    HIDDEN_SINGLE("Hidden Single", 2),
+    NAKED_PAIR("Naked Pair", 10),
+    HIDDEN_PAIR("Hidden Pair", 15),
+    POINTING_PAIR("Pointing Pair", 20),
+    BOX_LINE_REDUCTION("Box/Line Reduction", 25),
+    NAKED_TRIPLE("Naked Triple", 30),
+    HIDDEN_TRIPLE("Hidden Triple", 40),
+    X_WING("X-Wing", 60);
+
+    private final String displayName;
+    private final int weight;
+
+    Technique(String displayName, int weight) {
+        this.displayName = displayName;
+        this.weight = weight;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public boolean isPlacement() {
+        return this == NAKED_SINGLE || this == HIDDEN_SINGLE;
+    }
+}
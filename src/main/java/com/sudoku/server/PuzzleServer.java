@@ -0,0 +1,413 @@
+package com.sudoku.server;
+
+import com.sudoku.controller.PuzzleCache;
+import com.sudoku.controller.PuzzlePool;
+import com.sudoku.model.BitmaskSolver;
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GameState;
+import com.sudoku.model.GenerationStrategy;
+import com.sudoku.model.Hint;
+import com.sudoku.model.PuzzleId;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.Histogram;
+import com.sudoku.utils.Logger;
+import com.sudoku.utils.Metrics;
+import com.sudoku.utils.PuzzleFormat;
+import com.sudoku.utils.PuzzleLibrary;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PuzzleServer {
+    private static final int BACKLOG = 4096;
+    private static final int MAX_BODY = 4096;
+    private static final int CACHE_SIZE = Integer.getInteger("sudoku.cache.size", 1024);
+    private static final long NODE_LIMIT = Long.getLong("sudoku.server.nodeLimit", 2_000_000L);
+    private static final int FALLBACK_THREADS = Integer.getInteger("sudoku.server.threads",
+            Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+    private static final LongAdder REQUESTS = Metrics.counter("http.requests");
+    private static final LongAdder ERRORS = Metrics.counter("http.errors");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PuzzlePool pool;
+    private final PuzzleCache cache;
+    private final Map<Integer, Queue<BitmaskSolver>> solvers;
+    private PuzzleLibrary library;
+
+    public PuzzleServer(int port, int poolLow, int poolHigh) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.executor = newRequestExecutor();
+        this.pool = new PuzzlePool(poolLow, poolHigh);
+        this.cache = new PuzzleCache(CACHE_SIZE);
+        this.solvers = new HashMap<>();
+        for (int root = 2; root * root <= SudokuGrid.MAX_SIZE; root++) {
+            solvers.put(root * root, new ConcurrentLinkedQueue<>());
+        }
+        server.setExecutor(executor);
+        route("/generate", this::generate);
+        route("/puzzle", this::puzzleById);
+        route("/solve", this::solve);
+        route("/validate", this::validate);
+        route("/hint", this::hint);
+        route("/metrics", (params, body) -> Metrics.dump());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int poolLow = 16;
+        int poolHigh = 64;
+        String libraryPath = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--port":
+                    port = Integer.parseInt(value);
+                    break;
+                case "--pool-low":
+                    poolLow = Integer.parseInt(value);
+                    break;
+                case "--pool-high":
+                    poolHigh = Integer.parseInt(value);
+                    break;
+                case "--library":
+                    libraryPath = value;
+                    break;
+                default:
+                    usage("Unknown option " + arg);
+            }
+        }
+        Metrics.start();
+        PuzzleServer server = new PuzzleServer(port, poolLow, poolHigh);
+        if (libraryPath != null) {
+            server.setLibrary(PuzzleLibrary.open(Paths.get(libraryPath)));
+            Logger.info("Serving " + server.library.getCount() + " library puzzles from " + libraryPath);
+        }
+        for (DifficultyLevel level : DifficultyLevel.values()) {
+            server.pool.prefill(9, level);
+        }
+        server.start();
+        Logger.info("Puzzle server listening on port " + port);
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: PuzzleServer [--port N] [--pool-low N] [--pool-high N] [--library FILE]");
+        System.exit(2);
+    }
+
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, r -> {
+                Thread thread = new Thread(r, "puzzle-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void setLibrary(PuzzleLibrary library) {
+        this.library = library;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        pool.shutdown();
+        if (library != null) {
+            try {
+                library.close();
+            } catch (IOException e) {
+                Logger.error("Failed to close puzzle library", e);
+            }
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void route(String path, Handler handler) {
+        Histogram latency = Metrics.histogram("http" + path.replace('/', '.') + ".latency");
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            REQUESTS.increment();
+            int status = 200;
+            String response;
+            try {
+                response = handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()), readBody(exchange));
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                response = error(e);
+            } catch (SearchLimitException e) {
+                status = 422;
+                response = error(e);
+            } catch (RuntimeException e) {
+                Logger.error("Request to " + path + " failed", e);
+                status = 500;
+                response = "{\"error\":\"internal error\"}";
+            }
+            if (status != 200) {
+                ERRORS.increment();
+            }
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                    response.startsWith("{") ? "application/json" : "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            latency.recordSince(start);
+        });
+    }
+
+    private String generate(Map<String, String> params, String body) {
+        int size = intParam(params, "size", 9);
+        if (!solvers.containsKey(size)) {
+            throw new IllegalArgumentException("Unsupported size " + size);
+        }
+        DifficultyLevel level;
+        try {
+            level = DifficultyLevel.valueOf(params.getOrDefault("difficulty", "MEDIUM").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown difficulty " + params.get("difficulty"));
+        }
+        if (params.containsKey("seed")) {
+            long seed;
+            try {
+                seed = Long.parseLong(params.get("seed"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid seed: " + params.get("seed"));
+            }
+            return describe(cache.get(new PuzzleId(size, level, GenerationStrategy.BACKTRACKING, seed)), level);
+        }
+        PuzzleLibrary library = this.library;
+        if (library != null && library.getSize() == size && library.getCount(level) > 0) {
+            return fromLibrary(library, level, params);
+        }
+        return describe(pool.take(size, level), level);
+    }
+
+    private String puzzleById(Map<String, String> params, String body) {
+        String text = params.get("id");
+        if (text == null || text.isEmpty()) {
+            throw new IllegalArgumentException("Missing id");
+        }
+        PuzzleId id = PuzzleId.parse(text);
+        if (!solvers.containsKey(id.getSize())) {
+            throw new IllegalArgumentException("Unsupported size " + id.getSize());
+        }
+        return describe(cache.get(id), id.getLevel());
+    }
+
+    private static String describe(GameState state, DifficultyLevel level) {
+        int size = state.getGridState().length;
+        SudokuGrid grid = new SudokuGrid(size);
+        grid.loadState(state);
+        return "{\"puzzle\":" + quote(PuzzleFormat.format(state.getGridState()))
+                + (state.getPuzzleId() != null ? ",\"id\":" + quote(state.getPuzzleId()) : "")
+                + ",\"size\":" + size
+                + ",\"difficulty\":" + quote(level.name())
+                + ",\"grade\":" + grid.getGrade() + "}";
+    }
+
+    private String fromLibrary(PuzzleLibrary library, DifficultyLevel level, Map<String, String> params) {
+        long record;
+        try {
+            record = params.containsKey("n")
+                    ? library.recordIndex(level, intParam(params, "n", 0))
+                    : library.randomRecord(level, ThreadLocalRandom.current());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        return "{\"puzzle\":" + quote(PuzzleFormat.format(library.getPuzzle(record)))
+                + ",\"size\":" + library.getSize()
+                + ",\"difficulty\":" + quote(level.name())
+                + ",\"grade\":" + library.getGrade(record)
+                + ",\"index\":" + (record - library.recordIndex(level, 0)) + "}";
+    }
+
+    private String solve(Map<String, String> params, String body) {
+        int[][] puzzle = puzzle(params, body);
+        int count = withSolver(puzzle.length, solver -> solver.solveAndCount(puzzle, 2));
+        return "{\"solutions\":" + count
+                + (count > 0 ? ",\"solution\":" + quote(PuzzleFormat.format(puzzle)) : "") + "}";
+    }
+
+    private String validate(Map<String, String> params, String body) {
+        int[][] puzzle = puzzle(params, body);
+        SudokuGrid grid = load(puzzle);
+        Set<Integer> conflicts = grid.getConflictingCells();
+        int count = conflicts.isEmpty() ? withSolver(puzzle.length, solver -> solver.countSolutions(puzzle, 2)) : 0;
+        StringBuilder sb = new StringBuilder("{\"valid\":").append(conflicts.isEmpty() && count > 0);
+        sb.append(",\"unique\":").append(count == 1);
+        sb.append(",\"solutions\":").append(count);
+        sb.append(",\"conflicts\":[");
+        boolean first = true;
+        for (int cell : conflicts) {
+            sb.append(first ? "" : ",").append(cell);
+            first = false;
+        }
+        return sb.append("]}").toString();
+    }
+
+    private String hint(Map<String, String> params, String body) {
+        SudokuGrid grid = load(puzzle(params, body));
+        Optional<Hint> hint = grid.getHint();
+        if (!hint.isPresent()) {
+            return "{}";
+        }
+        Hint h = hint.get();
+        StringBuilder sb = new StringBuilder("{\"row\":").append(h.getRow());
+        sb.append(",\"col\":").append(h.getCol());
+        sb.append(",\"candidates\":").append(h.getValidNumbers().toString().replace(" ", ""));
+        if (h.getTechnique() != null) {
+            sb.append(",\"technique\":").append(quote(h.getTechnique().name()));
+            sb.append(",\"value\":").append(h.getValue());
+            sb.append(",\"explanation\":").append(quote(h.getExplanation()));
+        }
+        return sb.append("}").toString();
+    }
+
+    private int[][] puzzle(Map<String, String> params, String body) {
+        String text = params.containsKey("puzzle") ? params.get("puzzle") : body.trim();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Missing puzzle");
+        }
+        int[][] puzzle = PuzzleFormat.parse(text);
+        if (!solvers.containsKey(puzzle.length)) {
+            throw new IllegalArgumentException("Unsupported size " + puzzle.length);
+        }
+        return puzzle;
+    }
+
+    private static SudokuGrid load(int[][] puzzle) {
+        int size = puzzle.length;
+        boolean[][] originals = new boolean[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                originals[i][j] = puzzle[i][j] != 0;
+            }
+        }
+        SudokuGrid grid = new SudokuGrid(size);
+        grid.loadState(new GameState(puzzle, originals, 0));
+        return grid;
+    }
+
+    private int withSolver(int size, SolverTask task) {
+        Queue<BitmaskSolver> idle = solvers.get(size);
+        BitmaskSolver solver = idle.poll();
+        if (solver == null) {
+            solver = new BitmaskSolver(size);
+            solver.setNodeLimit(NODE_LIMIT);
+        }
+        try {
+            int result = task.run(solver);
+            if (solver.isNodeLimitReached()) {
+                throw new SearchLimitException("Search gave up after " + NODE_LIMIT + " nodes");
+            }
+            return result;
+        } finally {
+            idle.offer(solver);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY + 1);
+            if (bytes.length > MAX_BODY) {
+                throw new IllegalArgumentException("Request body too large");
+            }
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static String error(RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private interface Handler {
+        String handle(Map<String, String> params, String body);
+    }
+
+    private interface SolverTask {
+        int run(BitmaskSolver solver);
+    }
+
+    private static class SearchLimitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SearchLimitException(String message) {
+            super(message);
+        }
+    }
+}
@@ -2,34 +2,78 @@ package com.sudoku.utils;
 
 import com.sudoku.model.GameState;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
 import java.util.Optional;
 
 public class FileHandler {
     private static final String SAVE_FILE = "game_save.dat";
+    private static final int SERIALIZATION_MAGIC = 0xACED;
+    private static final Histogram SAVE_LATENCY = Metrics.histogram("save.latency");
+    private static final Histogram LOAD_LATENCY = Metrics.histogram("load.latency");
     
     public static void saveGame(GameState state) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new BufferedOutputStream(Files.newOutputStream(Paths.get(SAVE_FILE))))) {
-            oos.writeObject(state);
+        saveGame(state, Paths.get(SAVE_FILE));
+    }
+
+    public static void saveGame(GameState state, Path path) throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer buffer = GameStateCodec.encode(state);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
         } catch (IOException e) {
             Logger.error("Failed to save game", e);
             throw new IOException("Failed to save game: " + e.getMessage(), e);
+        } finally {
+            SAVE_LATENCY.recordSince(start);
         }
     }
     
     public static Optional<GameState> loadGame() {
-        Path path = Paths.get(SAVE_FILE);
+        return loadGame(Paths.get(SAVE_FILE));
+    }
+
+    public static Optional<GameState> loadGame(Path path) {
         if (!Files.exists(path)) {
             return Optional.empty();
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new BufferedInputStream(Files.newInputStream(path)))) {
-            return Optional.of((GameState) ois.readObject());
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Save file too large: " + length + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            if (GameStateCodec.hasMagic(buffer)) {
+                return Optional.of(GameStateCodec.decode(buffer));
+            }
+            if (buffer.remaining() >= 2 && (buffer.getShort(0) & 0xFFFF) == SERIALIZATION_MAGIC) {
+                return Optional.of(readLegacy(buffer));
+            }
+            throw new IOException("Unrecognized save file format");
         } catch (IOException | ClassNotFoundException e) {
             Logger.error("Failed to load game", e);
             return Optional.empty();
+        } finally {
+            LOAD_LATENCY.recordSince(start);
+        }
+    }
+    
+    private static GameState readLegacy(ByteBuffer buffer) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.array(), 0, buffer.limit()))) {
+            return (GameState) ois.readObject();
         }
     }
     
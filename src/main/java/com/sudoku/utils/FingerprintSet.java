@@ -0,0 +1,95 @@
+package com.sudoku.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class FingerprintSet {
+    private static final int ENTRY_BYTES = 16;
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+    private final ByteBuffer[] segments;
+    private final int[] sizes;
+    private final int segmentShift;
+    private final int slotMask;
+    private final int maxEntriesPerSegment;
+
+    public FingerprintSet(long expectedEntries) {
+        // smallest power of two that keeps the table at most 75% full, e.g. 20M entries in 2^25 slots (512 MB)
+        long target = Math.max(16, expectedEntries * 4 / 3 + 1);
+        long slots = Long.highestOneBit(target - 1) << 1;
+        int segmentCount = (int) Math.max(1, slots * ENTRY_BYTES / MAX_SEGMENT_BYTES);
+        int slotsPerSegment = (int) (slots / segmentCount);
+        this.segments = new ByteBuffer[segmentCount];
+        this.sizes = new int[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = ByteBuffer.allocateDirect(slotsPerSegment * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+        }
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        this.slotMask = slotsPerSegment - 1;
+        this.maxEntriesPerSegment = slotsPerSegment - slotsPerSegment / 4;
+    }
+
+    public boolean add(long[] fingerprint) {
+        return add(fingerprint[0], fingerprint[1]);
+    }
+
+    public boolean add(long high, long low) {
+        low |= 1L;
+        int segment = segments.length == 1 ? 0 : (int) (high >>> segmentShift);
+        ByteBuffer buffer = segments[segment];
+        synchronized (buffer) {
+            int slot = (int) (low >>> 1) & slotMask;
+            while (true) {
+                int offset = slot * ENTRY_BYTES;
+                long storedLow = buffer.getLong(offset + 8);
+                if (storedLow == 0) {
+                    if (sizes[segment] >= maxEntriesPerSegment) {
+                        throw new IllegalStateException("Fingerprint set is full");
+                    }
+                    buffer.putLong(offset, high);
+                    buffer.putLong(offset + 8, low);
+                    sizes[segment]++;
+                    return true;
+                }
+                if (storedLow == low && buffer.getLong(offset) == high) {
+                    return false;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+        }
+    }
+
+    public boolean contains(long high, long low) {
+        low |= 1L;
+        int segment = segments.length == 1 ? 0 : (int) (high >>> segmentShift);
+        ByteBuffer buffer = segments[segment];
+        synchronized (buffer) {
+            int slot = (int) (low >>> 1) & slotMask;
+            while (true) {
+                int offset = slot * ENTRY_BYTES;
+                long storedLow = buffer.getLong(offset + 8);
+                if (storedLow == 0) {
+                    return false;
+                }
+                if (storedLow == low && buffer.getLong(offset) == high) {
+                    return true;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+        }
+    }
+
+    public long size() {
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            synchronized (segments[i]) {
+                total += sizes[i];
+            }
+        }
+        return total;
+    }
+
+    public long capacity() {
+        return (long) segments.length * maxEntriesPerSegment;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sudoku.utils;
+
+import com.sudoku.model.GameState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+public class GameStateCodec {
+    public static final int MAGIC = 0x53444B55;
+    public static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_ID = 1;
+    private static final int HEADER_BYTES = 4 + 1 + 1 + 4;
+    private static final int MAX_ID_BYTES = 255;
+
+    public static int encodedLength(int size) {
+        return bodyLength(size) + 1;
+    }
+
+    private static int bodyLength(int size) {
+        int cells = size * size;
+        return HEADER_BYTES + valueBytes(size, cells) + (cells + 7) / 8;
+    }
+
+    public static ByteBuffer encode(GameState state) {
+        int[][] values = state.getGridState();
+        boolean[][] originals = state.getOriginalCells();
+        int size = values.length;
+        byte[] id = state.getPuzzleId() == null ? new byte[0] : state.getPuzzleId().getBytes(StandardCharsets.US_ASCII);
+        if (id.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Puzzle id too long");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(encodedLength(size) + id.length).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) size);
+        buffer.putInt(state.getElapsedTime());
+
+        int cells = size * size;
+        if (usesNibbles(size)) {
+            for (int cell = 0; cell < cells; cell += 2) {
+                int high = values[cell / size][cell % size];
+                int low = cell + 1 < cells ? values[(cell + 1) / size][(cell + 1) % size] : 0;
+                buffer.put((byte) ((high << 4) | low));
+            }
+        } else {
+            for (int cell = 0; cell < cells; cell++) {
+                buffer.put((byte) values[cell / size][cell % size]);
+            }
+        }
+
+        int bits = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (originals[cell / size][cell % size]) {
+                bits |= 1 << (cell & 7);
+            }
+            if ((cell & 7) == 7 || cell == cells - 1) {
+                buffer.put((byte) bits);
+                bits = 0;
+            }
+        }
+        buffer.put((byte) id.length);
+        buffer.put(id);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static boolean hasMagic(ByteBuffer buffer) {
+        return buffer.remaining() >= 4 && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    public static GameState decode(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a Sudoku save file");
+        }
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_WITHOUT_ID) {
+            throw new IOException("Unsupported save file version " + version);
+        }
+        int size = buffer.get() & 0xFF;
+        int elapsedTime = buffer.getInt();
+        int length = version == VERSION ? encodedLength(size) : bodyLength(size);
+        if (size == 0 || buffer.remaining() < length - HEADER_BYTES) {
+            throw new IOException("Truncated save file");
+        }
+
+        int cells = size * size;
+        int[][] values = new int[size][size];
+        boolean[][] originals = new boolean[size][size];
+        if (usesNibbles(size)) {
+            for (int cell = 0; cell < cells; cell += 2) {
+                int packed = buffer.get() & 0xFF;
+                values[cell / size][cell % size] = packed >>> 4;
+                if (cell + 1 < cells) {
+                    values[(cell + 1) / size][(cell + 1) % size] = packed & 0x0F;
+                }
+            }
+        } else {
+            for (int cell = 0; cell < cells; cell++) {
+                values[cell / size][cell % size] = buffer.get() & 0xFF;
+            }
+        }
+
+        int bits = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if ((cell & 7) == 0) {
+                bits = buffer.get() & 0xFF;
+            }
+            originals[cell / size][cell % size] = (bits & (1 << (cell & 7))) != 0;
+        }
+
+        for (int[] row : values) {
+            for (int value : row) {
+                if (value > size) {
+                    throw new IOException("Corrupt cell value " + value);
+                }
+            }
+        }
+        String puzzleId = null;
+        if (version == VERSION) {
+            int idLength = buffer.get() & 0xFF;
+            if (buffer.remaining() < idLength) {
+                throw new IOException("Truncated save file");
+            }
+            byte[] id = new byte[idLength];
+            buffer.get(id);
+            puzzleId = idLength == 0 ? null : new String(id, StandardCharsets.US_ASCII);
+        }
+        return new GameState(values, originals, elapsedTime, puzzleId);
+    }
+
+    private static boolean usesNibbles(int size) {
+        return size < 16;
+    }
+
+    private static int valueBytes(int size, int cells) {
+        return usesNibbles(size) ? (cells + 1) / 2 : cells;
+    }
+}
@@ -1,49 +1,253 @@
 package com.sudoku.utils;
 
 import java.io.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 
 public class Logger {
     private static final String LOG_FILE = "sudoku_game.log";
+    private static final boolean ASYNC = Boolean.parseBoolean(System.getProperty("sudoku.log.async", "true"));
+    private static final int THRESHOLD = rank(System.getProperty("sudoku.log.level", "INFO"));
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(2, Integer.getInteger("sudoku.log.buffer", 8192)));
+    private static final int FLUSH_EVENTS = 1024;
+    private static final long FLUSH_INTERVAL_NANOS = 200_000_000L;
+    private static final long IDLE_PARK_NANOS = 1_000_000_000L;
     private static PrintWriter writer;
+    private static PrintWriter console;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    
+
+    private static final int mask = CAPACITY - 1;
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final long[] timestamps = new long[CAPACITY];
+    private static final String[] levels = new String[CAPACITY];
+    private static final String[] messages = new String[CAPACITY];
+    private static final Object[][] arguments = new Object[CAPACITY][];
+    private static final Throwable[] throwables = new Throwable[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static long head;
+    private static long reportedDrops;
+    private static long cachedSecond = -1;
+    private static String cachedTime;
+    private static volatile boolean running = true;
+    private static volatile boolean idle;
+    private static Thread worker;
+
     static {
         try {
-            writer = new PrintWriter(new FileWriter(LOG_FILE, true));
+            writer = new PrintWriter(new BufferedWriter(new FileWriter(LOG_FILE, true)));
         } catch (IOException e) {
             e.printStackTrace();
         }
+        console = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        if (ASYNC) {
+            worker = new Thread(Logger::drainLoop, "sudoku-logger");
+            worker.setDaemon(true);
+            worker.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Logger::close, "sudoku-logger-shutdown"));
+        }
+    }
+
+    public static boolean isEnabled(String level) {
+        return rank(level) >= THRESHOLD;
+    }
+
+    public static void debug(String message) {
+        log("DEBUG", message);
+    }
+
+    public static void info(String message) {
+        log("INFO", message);
     }
-    
-    public static synchronized void log(String level, String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        String logMessage = String.format("[%s] %s: %s", timestamp, level, message);
-        System.out.println(logMessage);
-        writeToFile(logMessage);
+
+    public static void warn(String message) {
+        log("WARN", message);
+    }
+
+    public static void log(String level, String message) {
+        if (isEnabled(level)) {
+            submit(level, message, null, null);
+        }
     }
-    
+
+    public static void log(String level, String format, Object... args) {
+        if (isEnabled(level)) {
+            submit(level, format, args, null);
+        }
+    }
+
     public static void error(String message, Throwable e) {
-        log("ERROR", message);
+        if (isEnabled("ERROR")) {
+            submit("ERROR", message, null, e);
+        }
+    }
+
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void submit(String level, String message, Object[] args, Throwable e) {
+        long now = System.currentTimeMillis();
+        if (!ASYNC || worker == null || !running) {
+            writeNow(now, level, message, args, e);
+            return;
+        }
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    timestamps[slot] = now;
+                    levels[slot] = level;
+                    messages[slot] = message;
+                    arguments[slot] = args;
+                    throwables[slot] = e;
+                    sequences.set(slot, position + 1);
+                    if (idle) {
+                        LockSupport.unpark(worker);
+                    }
+                    return;
+                }
+            } else if (sequence < position) {
+                if (e != null) {
+                    writeNow(now, level, message, args, e);
+                } else {
+                    dropped.incrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private static synchronized void writeNow(long timestamp, String level, String message, Object[] args, Throwable e) {
+        append(timestamp, level, message, args, e);
+        flush();
+    }
+
+    private static void drainLoop() {
+        long lastFlush = System.nanoTime();
+        int pending = 0;
+        while (running) {
+            int drained = drain();
+            pending += drained;
+            long now = System.nanoTime();
+            if (pending > 0 && (drained == 0 || pending >= FLUSH_EVENTS || now - lastFlush >= FLUSH_INTERVAL_NANOS)) {
+                synchronized (Logger.class) {
+                    flush();
+                }
+                pending = 0;
+                lastFlush = now;
+            }
+            if (drained == 0) {
+                // submit() publishes its slot before reading idle, so re-checking the ring after
+                // setting idle guarantees either we see the event or the producer sees us parked
+                idle = true;
+                if (sequences.get((int) head & mask) != head + 1) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    private static int drain() {
+        int drained = 0;
+        synchronized (Logger.class) {
+            while (true) {
+                int slot = (int) head & mask;
+                if (sequences.get(slot) != head + 1) {
+                    break;
+                }
+                append(timestamps[slot], levels[slot], messages[slot], arguments[slot], throwables[slot]);
+                levels[slot] = null;
+                messages[slot] = null;
+                arguments[slot] = null;
+                throwables[slot] = null;
+                sequences.set(slot, head + CAPACITY);
+                head++;
+                drained++;
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                append(System.currentTimeMillis(), "WARN", "Dropped " + (drops - reportedDrops) + " log events", null, null);
+                reportedDrops = drops;
+            }
+        }
+        return drained;
+    }
+
+    private static void append(long timestamp, String level, String message, Object[] args, Throwable e) {
+        long second = timestamp / 1000;
+        if (second != cachedSecond) {
+            cachedTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).format(formatter);
+            cachedSecond = second;
+        }
+        String time = cachedTime;
+        String text = args == null ? message : String.format(message, args);
+        String logMessage = "[" + time + "] " + level + ": " + text;
+        console.println(logMessage);
+        if (writer != null) {
+            writer.println(logMessage);
+        }
         if (e != null) {
-            log("ERROR", e.toString());
-            for (StackTraceElement element : e.getStackTrace()) {
-                log("ERROR", "\tat " + element.toString());
+            e.printStackTrace(console);
+            if (writer != null) {
+                e.printStackTrace(writer);
             }
         }
     }
-    
-    private static synchronized void writeToFile(String message) {
+
+    private static void flush() {
+        console.flush();
         if (writer != null) {
-            writer.println(message);
             writer.flush();
         }
     }
-    
+
+    private static int rank(String level) {
+        switch (level.toUpperCase()) {
+            case "DEBUG":
+                return 0;
+            case "INFO":
+                return 1;
+            case "WARN":
+                return 2;
+            case "ERROR":
+                return 3;
+            default:
+                return 1;
+        }
+    }
+
     public static void close() {
-        if (writer != null) {
-            writer.close();
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            drain();
+        }
+        synchronized (Logger.class) {
+            flush();
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.sudoku.utils;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class Metrics {
+    private static final String OBJECT_NAME = "com.sudoku:type=Metrics";
+    private static final boolean JMX_ENABLED = Boolean.parseBoolean(System.getProperty("sudoku.metrics.jmx", "true"));
+    private static final long DUMP_INTERVAL_SECONDS = Long.getLong("sudoku.metrics.interval", 60);
+
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static String lastDump;
+    private static boolean started;
+
+    // Only applications call this; headless tools that merely record metrics
+    // get no MBean, no dump thread and no log file.
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        if (JMX_ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                Logger.error("Failed to register metrics MBean", e);
+            }
+        }
+        if (DUMP_INTERVAL_SECONDS > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(Metrics::logDump, DUMP_INTERVAL_SECONDS, DUMP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    public static void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public static Map<String, Long> counterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    public static Map<String, Long> gaugeValues() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    public static Map<String, String> histogramSummaries() {
+        Map<String, String> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.summary()));
+        return values;
+    }
+
+    public static String dump() {
+        StringBuilder sb = new StringBuilder("Metrics:");
+        counterValues().forEach((name, value) -> sb.append("\n  ").append(name).append(" = ").append(value));
+        gaugeValues().forEach((name, value) -> sb.append("\n  ").append(name).append(" = ").append(value));
+        histogramSummaries().forEach((name, value) -> sb.append("\n  ").append(name).append(": ").append(value));
+        return sb.toString();
+    }
+
+    private static synchronized void logDump() {
+        String dump = dump();
+        if (!dump.equals(lastDump)) {
+            Logger.info(dump);
+            lastDump = dump;
+        }
+    }
+
+    private static class Bean implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            return counterValues();
+        }
+
+        @Override
+        public Map<String, Long> getGauges() {
+            return gaugeValues();
+        }
+
+        @Override
+        public Map<String, String> getHistograms() {
+            return histogramSummaries();
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sudoku.utils;
+
+import java.util.Map;
+
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    Map<String, String> getHistograms();
+
+    String dump();
+}
@@ -0,0 +1,65 @@
+package com.sudoku.utils;
+
+import com.sudoku.model.SudokuGrid;
+
+public class PuzzleFormat {
+    private static final String SYMBOLS = "123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ@";
+    private static final char EMPTY = '.';
+
+    public static char toSymbol(int value) {
+        if (value == 0) {
+            return EMPTY;
+        }
+        if (value < 0 || value > SYMBOLS.length()) {
+            throw new IllegalArgumentException("No symbol for value " + value);
+        }
+        return SYMBOLS.charAt(value - 1);
+    }
+
+    public static int fromSymbol(char c) {
+        if (c == EMPTY || c == '0') {
+            return 0;
+        }
+        int index = SYMBOLS.indexOf(Character.toUpperCase(c));
+        return index < 0 ? -1 : index + 1;
+    }
+
+    public static String format(SudokuGrid grid) {
+        int size = grid.getSize();
+        StringBuilder sb = new StringBuilder(size * size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                sb.append(toSymbol(grid.getValue(i, j)));
+            }
+        }
+        return sb.toString();
+    }
+
+    public static String format(int[][] values) {
+        int size = values.length;
+        StringBuilder sb = new StringBuilder(size * size);
+        for (int[] row : values) {
+            for (int value : row) {
+                sb.append(toSymbol(value));
+            }
+        }
+        return sb.toString();
+    }
+
+    public static int[][] parse(CharSequence line) {
+        int length = line.length();
+        int size = (int) Math.round(Math.sqrt(length));
+        if (size * size != length) {
+            throw new IllegalArgumentException("Puzzle line length " + length + " is not a square");
+        }
+        int[][] values = new int[size][size];
+        for (int i = 0; i < length; i++) {
+            int value = fromSymbol(line.charAt(i));
+            if (value < 0 || value > size) {
+                throw new IllegalArgumentException("Invalid symbol '" + line.charAt(i) + "' at position " + i);
+            }
+            values[i / size][i % size] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,219 @@
+package com.sudoku.utils;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+public class PuzzleLibrary implements Closeable {
+    public static final int MAGIC = 0x53444C42;
+    public static final byte VERSION = 1;
+    static final int HEADER_BYTES = 128;
+    static final int PUZZLE_OFFSET = 20;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int recordsPerChunk;
+    private final int size;
+    private final int bitsPerValue;
+    private final int recordBytes;
+    private final long[] firstRecord;
+    private final long[] counts;
+    private final long recordCount;
+
+    private PuzzleLibrary(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Truncated puzzle library header");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a puzzle library");
+        }
+        if (header.get() != VERSION) {
+            throw new IOException("Unsupported puzzle library version");
+        }
+        this.size = header.get();
+        this.bitsPerValue = bitsPerValue(size);
+        this.recordBytes = recordBytes(size);
+        int levels = header.getShort();
+        if (levels != DifficultyLevel.values().length) {
+            throw new IOException("Puzzle library has " + levels + " difficulty levels");
+        }
+        this.firstRecord = new long[levels];
+        this.counts = new long[levels];
+        long total = 0;
+        for (int i = 0; i < levels; i++) {
+            firstRecord[i] = total;
+            counts[i] = header.getLong();
+            total += counts[i];
+        }
+        this.recordCount = total;
+        if (channel.size() < HEADER_BYTES + total * recordBytes) {
+            throw new IOException("Truncated puzzle library");
+        }
+
+        this.recordsPerChunk = Integer.MAX_VALUE / recordBytes;
+        int chunkCount = (int) ((total + recordsPerChunk - 1) / recordsPerChunk);
+        this.chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long first = (long) i * recordsPerChunk;
+            long records = Math.min(recordsPerChunk, total - first);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * recordBytes, records * recordBytes);
+        }
+    }
+
+    public static PuzzleLibrary open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new PuzzleLibrary(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static int bitsPerValue(int size) {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    static int recordBytes(int size) {
+        int packedBits = 2 * size * size * bitsPerValue(size);
+        return (PUZZLE_OFFSET + (packedBits + 7) / 8 + 7) & ~7;
+    }
+
+    static ByteBuffer header(int size, long[] counts) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.put((byte) size);
+        header.putShort((short) counts.length);
+        for (long count : counts) {
+            header.putLong(count);
+        }
+        header.position(HEADER_BYTES);
+        header.flip();
+        return header;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getCount() {
+        return recordCount;
+    }
+
+    public long getCount(DifficultyLevel level) {
+        return counts[level.ordinal()];
+    }
+
+    public long recordIndex(DifficultyLevel level, long n) {
+        if (n < 0 || n >= counts[level.ordinal()]) {
+            throw new IndexOutOfBoundsException("No " + level + " puzzle #" + n);
+        }
+        return firstRecord[level.ordinal()] + n;
+    }
+
+    public long randomRecord(DifficultyLevel level, Random random) {
+        long count = counts[level.ordinal()];
+        if (count == 0) {
+            throw new IllegalStateException("No " + level + " puzzles in library");
+        }
+        return firstRecord[level.ordinal()] + (long) (random.nextDouble() * count);
+    }
+
+    public DifficultyLevel getLevel(long record) {
+        for (DifficultyLevel level : DifficultyLevel.values()) {
+            if (record < firstRecord[level.ordinal()] + counts[level.ordinal()]) {
+                return level;
+            }
+        }
+        throw new IndexOutOfBoundsException("No puzzle record " + record);
+    }
+
+    public int getGrade(long record) {
+        return chunk(record).getInt(offset(record) + 16);
+    }
+
+    public long[] getFingerprint(long record) {
+        ByteBuffer chunk = chunk(record);
+        int offset = offset(record);
+        return new long[] {chunk.getLong(offset), chunk.getLong(offset + 8)};
+    }
+
+    public int getPuzzleValue(long record, int row, int col) {
+        return unpack(chunk(record), offset(record), row * size + col);
+    }
+
+    public int getSolutionValue(long record, int row, int col) {
+        return unpack(chunk(record), offset(record), size * size + row * size + col);
+    }
+
+    public int[][] getPuzzle(long record) {
+        return read(record, 0);
+    }
+
+    public int[][] getSolution(long record) {
+        return read(record, size * size);
+    }
+
+    public GameState toGameState(long record) {
+        int[][] puzzle = getPuzzle(record);
+        boolean[][] originals = new boolean[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                originals[i][j] = puzzle[i][j] != 0;
+            }
+        }
+        return new GameState(puzzle, originals, 0);
+    }
+
+    private int[][] read(long record, int firstCell) {
+        ByteBuffer chunk = chunk(record);
+        int offset = offset(record);
+        int[][] values = new int[size][size];
+        for (int cell = 0; cell < size * size; cell++) {
+            values[cell / size][cell % size] = unpack(chunk, offset, firstCell + cell);
+        }
+        return values;
+    }
+
+    private int unpack(ByteBuffer chunk, int recordOffset, int index) {
+        int bitOffset = index * bitsPerValue;
+        int position = recordOffset + PUZZLE_OFFSET + (bitOffset >>> 3);
+        int shift = bitOffset & 7;
+        int bits = (chunk.get(position) & 0xFF) >>> shift;
+        if (shift + bitsPerValue > 8) {
+            bits |= (chunk.get(position + 1) & 0xFF) << (8 - shift);
+        }
+        return bits & ((1 << bitsPerValue) - 1);
+    }
+
+    private ByteBuffer chunk(long record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("No puzzle record " + record);
+        }
+        return chunks[(int) (record / recordsPerChunk)];
+    }
+
+    private int offset(long record) {
+        return (int) (record % recordsPerChunk) * recordBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,122 @@
+package com.sudoku.utils;
+
+import com.sudoku.model.DifficultyLevel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class PuzzleLibraryWriter implements Closeable {
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final Path path;
+    private final int size;
+    private final int bitsPerValue;
+    private final int recordBytes;
+    private final Path[] partPaths;
+    private final FileChannel[] parts;
+    private final ByteBuffer[] buffers;
+    private final long[] counts;
+    private final byte[] record;
+    private boolean closed;
+
+    public PuzzleLibraryWriter(Path path, int size) throws IOException {
+        this.path = path;
+        this.size = size;
+        this.bitsPerValue = PuzzleLibrary.bitsPerValue(size);
+        this.recordBytes = PuzzleLibrary.recordBytes(size);
+        int levels = DifficultyLevel.values().length;
+        this.partPaths = new Path[levels];
+        this.parts = new FileChannel[levels];
+        this.buffers = new ByteBuffer[levels];
+        this.counts = new long[levels];
+        this.record = new byte[recordBytes];
+        for (int i = 0; i < levels; i++) {
+            partPaths[i] = Files.createTempFile(path.toAbsolutePath().getParent(), "library-" + i + "-", ".part");
+            parts[i] = FileChannel.open(partPaths[i], StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffers[i] = ByteBuffer.allocate(recordBytes * BUFFER_RECORDS);
+        }
+    }
+
+    public synchronized void add(DifficultyLevel level, int[][] puzzle, int[][] solution, int grade, long[] fingerprint)
+            throws IOException {
+        if (puzzle.length != size || solution.length != size) {
+            throw new IllegalArgumentException("Puzzle size does not match library size");
+        }
+        ByteBuffer buffer = buffers[level.ordinal()];
+        java.util.Arrays.fill(record, (byte) 0);
+        int cells = size * size;
+        for (int cell = 0; cell < cells; cell++) {
+            pack(PuzzleLibrary.PUZZLE_OFFSET * 8 + cell * bitsPerValue, puzzle[cell / size][cell % size]);
+            pack(PuzzleLibrary.PUZZLE_OFFSET * 8 + (cells + cell) * bitsPerValue, solution[cell / size][cell % size]);
+        }
+        buffer.putLong(fingerprint[0]);
+        buffer.putLong(fingerprint[1]);
+        buffer.putInt(grade);
+        buffer.put(record, PuzzleLibrary.PUZZLE_OFFSET, recordBytes - PuzzleLibrary.PUZZLE_OFFSET);
+        counts[level.ordinal()]++;
+        if (!buffer.hasRemaining()) {
+            flush(level.ordinal());
+        }
+    }
+
+    private void pack(int bitOffset, int value) {
+        int index = bitOffset >>> 3;
+        int shift = bitOffset & 7;
+        record[index] |= (byte) (value << shift);
+        if (shift + bitsPerValue > 8) {
+            record[index + 1] |= (byte) (value >>> (8 - shift));
+        }
+    }
+
+    private void flush(int level) throws IOException {
+        ByteBuffer buffer = buffers[level];
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            parts[level].write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public synchronized long getCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = PuzzleLibrary.header(size, counts);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (int i = 0; i < parts.length; i++) {
+                flush(i);
+                long length = parts[i].size();
+                try (FileChannel in = FileChannel.open(partPaths[i], StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < length) {
+                        position += in.transferTo(position, length - position, out);
+                    }
+                }
+            }
+        } finally {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i].close();
+                Files.deleteIfExists(partPaths[i]);
+            }
+        }
+    }
+}
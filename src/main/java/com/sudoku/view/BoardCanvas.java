@@ -0,0 +1,266 @@
+package com.sudoku.view;
+
+import com.sudoku.controller.GameController;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.Histogram;
+import com.sudoku.utils.Metrics;
+import com.sudoku.utils.PuzzleFormat;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BoardCanvas extends JComponent implements BoardView {
+    private static final long serialVersionUID = 1L;
+    private static final Color SELECTED = new Color(0xCC, 0xE0, 0xFF);
+    private static final Histogram UPDATE_LATENCY = Metrics.histogram("gui.update.latency");
+    private static final LongAdder CELLS_UPDATED = Metrics.counter("gui.cells.updated");
+
+    private final GameController controller;
+    private final int size;
+    private final int subgridSize;
+    private final int[] values;
+    private final boolean[] originals;
+    private final boolean[] conflicts;
+    private BufferedImage[] originalGlyphs;
+    private BufferedImage[] userGlyphs;
+    private int glyphSize;
+    private int selectedCell;
+    private int highlightedCell;
+
+    public BoardCanvas(GameController controller) {
+        this.controller = controller;
+        this.size = controller.getGridSize();
+        this.subgridSize = (int) Math.sqrt(size);
+        this.values = new int[size * size];
+        this.originals = new boolean[size * size];
+        this.conflicts = new boolean[size * size];
+        this.selectedCell = -1;
+        this.highlightedCell = -1;
+
+        int preferredCell = size <= 9 ? 50 : Math.max(20, 720 / size);
+        setPreferredSize(new Dimension(preferredCell * size + 4, preferredCell * size + 4));
+        setBackground(Color.WHITE);
+        setOpaque(true);
+        setFocusable(true);
+        setupInput();
+    }
+
+    private void setupInput() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                if (cell >= 0) {
+                    select(cell);
+                }
+                requestFocusInWindow();
+            }
+        });
+
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (selectedCell < 0) {
+                    select(0);
+                    return;
+                }
+                int row = selectedCell / size;
+                int col = selectedCell % size;
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_UP:
+                        row = (row + size - 1) % size;
+                        break;
+                    case KeyEvent.VK_DOWN:
+                        row = (row + 1) % size;
+                        break;
+                    case KeyEvent.VK_LEFT:
+                        col = (col + size - 1) % size;
+                        break;
+                    case KeyEvent.VK_RIGHT:
+                        col = (col + 1) % size;
+                        break;
+                    default:
+                        return;
+                }
+                select(row * size + col);
+            }
+
+            @Override
+            public void keyTyped(KeyEvent e) {
+                char key = e.getKeyChar();
+                int value = key == '\b' || key == KeyEvent.VK_DELETE ? 0 : PuzzleFormat.fromSymbol(key);
+                if (selectedCell < 0 || value < 0 || value > size || originals[selectedCell]) {
+                    return;
+                }
+                controller.updateCell(selectedCell / size, selectedCell % size, value);
+            }
+        });
+    }
+
+    private void select(int cell) {
+        int previous = selectedCell;
+        selectedCell = cell;
+        repaintCell(previous);
+        repaintCell(cell);
+    }
+
+    @Override
+    public JComponent asComponent() {
+        return this;
+    }
+
+    @Override
+    public void updateGrid(SudokuGrid grid) {
+        long start = System.nanoTime();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int index = row * size + col;
+                int value = grid.getValue(row, col);
+                boolean original = grid.isOriginal(row, col);
+                if (values[index] != value || originals[index] != original) {
+                    values[index] = value;
+                    originals[index] = original;
+                    repaintCell(index);
+                    CELLS_UPDATED.increment();
+                }
+            }
+        }
+        UPDATE_LATENCY.recordSince(start);
+    }
+
+    @Override
+    public void highlightCell(int row, int col) {
+        int previous = highlightedCell;
+        highlightedCell = row * size + col;
+        repaintCell(previous);
+        repaintCell(highlightedCell);
+    }
+
+    @Override
+    public void highlightConflicts(Set<Integer> cells) {
+        for (int i = 0; i < conflicts.length; i++) {
+            if (conflicts[i]) {
+                conflicts[i] = false;
+                repaintCell(i);
+            }
+        }
+        for (int cell : cells) {
+            conflicts[cell] = true;
+            repaintCell(cell);
+        }
+    }
+
+    private int cellSize() {
+        return Math.max(1, (Math.min(getWidth(), getHeight()) - 4) / size);
+    }
+
+    private int cellAt(int x, int y) {
+        int cellSize = cellSize();
+        int col = (x - 2) / cellSize;
+        int row = (y - 2) / cellSize;
+        if (x < 2 || y < 2 || row >= size || col >= size) {
+            return -1;
+        }
+        return row * size + col;
+    }
+
+    private void repaintCell(int cell) {
+        if (cell < 0) {
+            return;
+        }
+        int cellSize = cellSize();
+        repaint(2 + (cell % size) * cellSize - 1, 2 + (cell / size) * cellSize - 1, cellSize + 3, cellSize + 3);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        int cellSize = cellSize();
+        if (cellSize != glyphSize) {
+            buildGlyphs(cellSize);
+        }
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g2.setColor(getBackground());
+        g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int board = cellSize * size;
+        int firstRow = Math.max(0, (clip.y - 2) / cellSize);
+        int lastRow = Math.min(size - 1, (clip.y + clip.height - 2) / cellSize);
+        int firstCol = Math.max(0, (clip.x - 2) / cellSize);
+        int lastCol = Math.min(size - 1, (clip.x + clip.width - 2) / cellSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int index = row * size + col;
+                int x = 2 + col * cellSize;
+                int y = 2 + row * cellSize;
+                Color background = cellBackground(index);
+                if (background != null) {
+                    g2.setColor(background);
+                    g2.fillRect(x, y, cellSize, cellSize);
+                }
+                int value = values[index];
+                if (value != 0) {
+                    g2.drawImage(originals[index] ? originalGlyphs[value] : userGlyphs[value], x, y, null);
+                }
+            }
+        }
+
+        g2.setColor(Color.LIGHT_GRAY);
+        for (int i = 1; i < size; i++) {
+            if (i % subgridSize != 0) {
+                g2.drawLine(2 + i * cellSize, 2, 2 + i * cellSize, 2 + board);
+                g2.drawLine(2, 2 + i * cellSize, 2 + board, 2 + i * cellSize);
+            }
+        }
+        g2.setColor(Color.BLACK);
+        for (int i = 0; i <= size; i += subgridSize) {
+            g2.fillRect(1 + i * cellSize, 1, 2, board + 2);
+            g2.fillRect(1, 1 + i * cellSize, board + 2, 2);
+        }
+    }
+
+    private Color cellBackground(int index) {
+        if (index == highlightedCell) {
+            return Color.YELLOW;
+        }
+        if (conflicts[index]) {
+            return Color.PINK;
+        }
+        if (index == selectedCell) {
+            return SELECTED;
+        }
+        return null;
+    }
+
+    private void buildGlyphs(int cellSize) {
+        glyphSize = cellSize;
+        originalGlyphs = new BufferedImage[size + 1];
+        userGlyphs = new BufferedImage[size + 1];
+        Font font = new Font("Arial", Font.BOLD, Math.max(8, cellSize * 3 / 5));
+        for (int value = 1; value <= size; value++) {
+            originalGlyphs[value] = renderGlyph(value, font, Color.BLACK, cellSize);
+            userGlyphs[value] = renderGlyph(value, font, Color.BLUE, cellSize);
+        }
+    }
+
+    private BufferedImage renderGlyph(int value, Font font, Color color, int cellSize) {
+        BufferedImage image = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(color);
+        FontMetrics metrics = g.getFontMetrics();
+        String text = String.valueOf(PuzzleFormat.toSymbol(value));
+        int x = (cellSize - metrics.stringWidth(text)) / 2;
+        int y = (cellSize - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, x, y);
+        g.dispose();
+        return image;
+    }
+}
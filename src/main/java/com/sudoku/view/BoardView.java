@@ -0,0 +1,15 @@
+package com.sudoku.view;
+
+import com.sudoku.model.SudokuGrid;
+import javax.swing.JComponent;
+import java.util.Set;
+
+public interface BoardView {
+    void updateGrid(SudokuGrid grid);
+
+    void highlightCell(int row, int col);
+
+    void highlightConflicts(Set<Integer> conflicts);
+
+    JComponent asComponent();
+}
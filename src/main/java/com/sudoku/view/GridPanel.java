@@ -2,16 +2,37 @@ package com.sudoku.view;
 
 import com.sudoku.controller.GameController;
 import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.Histogram;
+import com.sudoku.utils.Metrics;
+import com.sudoku.utils.PuzzleFormat;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GridPanel extends JPanel implements BoardView {
+    private static final long serialVersionUID = 1L;
+    private static final int FRAME_MILLIS = 16;
+    private static final Histogram UPDATE_LATENCY = Metrics.histogram("gui.update.latency");
+    private static final LongAdder CELLS_UPDATED = Metrics.counter("gui.cells.updated");
 
-public class GridPanel extends JPanel {
     private final GameController controller;
     private final JTextField[][] cells;
     private final int size;
     private final int subgridSize;
     private Point highlightedCell;
+    private Set<Integer> conflictCells;
+    private final int[] renderedValues;
+    private final boolean[] renderedOriginal;
+    private final Timer frameTimer;
+    private SudokuGrid pendingGrid;
+    private SudokuGrid renderedGrid;
+    private boolean rendering;
     
     public GridPanel(GameController controller) {
         this.controller = controller;
@@ -19,6 +40,12 @@ public class GridPanel extends JPanel {
         this.subgridSize = (int) Math.sqrt(size);
         this.cells = new JTextField[size][size];
         this.highlightedCell = null;
+        this.conflictCells = Collections.emptySet();
+        this.renderedValues = new int[size * size];
+        this.renderedOriginal = new boolean[size * size];
+        Arrays.fill(renderedValues, -1);
+        this.frameTimer = new Timer(FRAME_MILLIS, e -> flushUpdate());
+        this.frameTimer.setRepeats(false);
         
         setupGrid();
     }
@@ -38,7 +65,7 @@ public class GridPanel extends JPanel {
     private JTextField createCell(int row, int col) {
         JTextField cell = new JTextField();
         cell.setHorizontalAlignment(JTextField.CENTER);
-        cell.setFont(new Font("Arial", Font.BOLD, 20));
+        cell.setFont(new Font("Arial", Font.BOLD, size <= 16 ? 20 : 360 / size));
         
         // Set borders to create subgrid visual separation
         int top = (row % subgridSize == 0) ? 2 : 1;
@@ -57,63 +84,133 @@ public class GridPanel extends JPanel {
                     return;
                 }
                 
-                SwingUtilities.invokeLater(() -> {
-                    if (Character.isDigit(c)) {
-                        controller.updateCell(row, col, Character.getNumericValue(c));
-                    } else if (Character.isLetter(c)) {
-                        controller.updateCell(row, col, Character.toUpperCase(c) - 'A' + 10);
-                    }
-                });
+                renderedValues[row * size + col] = -1;
+                SwingUtilities.invokeLater(() -> controller.updateCell(row, col, PuzzleFormat.fromSymbol(c)));
+            }
+        });
+
+        // Deletes, pastes and other edits that bypass keyTyped still have to reach the
+        // controller and leave the cell dirty, or the next frame would skip it.
+        cell.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                cellEdited(row, col);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                cellEdited(row, col);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
             }
         });
         
         return cell;
     }
+
+    private void cellEdited(int row, int col) {
+        if (rendering) {
+            return;
+        }
+        renderedValues[row * size + col] = -1;
+        SwingUtilities.invokeLater(() -> {
+            if (cells[row][col].getText().trim().isEmpty()) {
+                controller.updateCell(row, col, 0);
+            }
+            if (pendingGrid == null && renderedGrid != null) {
+                updateGrid(renderedGrid);
+            }
+        });
+    }
     
     private boolean isValidInput(char c) {
-        if (size == 9) {
-            return Character.isDigit(c) && c != '0';
-        } else if (size == 16) {
-            return (Character.isDigit(c) && c != '0') || 
-                   (Character.toUpperCase(c) >= 'A' && Character.toUpperCase(c) <= 'F');
-        }
-        return false;
+        int value = PuzzleFormat.fromSymbol(c);
+        return value >= 1 && value <= size;
     }
     
+    @Override
+    public JComponent asComponent() {
+        return this;
+    }
+    
+    @Override
     public void updateGrid(SudokuGrid grid) {
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                JTextField cell = cells[row][col];
-                int value = grid.getValue(row, col);
+        pendingGrid = grid;
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+    
+    private void flushUpdate() {
+        SudokuGrid grid = pendingGrid;
+        if (grid == null) {
+            return;
+        }
+        pendingGrid = null;
+        renderedGrid = grid;
+        rendering = true;
+        long start = System.nanoTime();
+        try {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int index = row * size + col;
+                    int value = grid.getValue(row, col);
+                    boolean original = grid.isOriginal(row, col);
+                    if (value == renderedValues[index] && original == renderedOriginal[index]) {
+                        continue;
+                    }
+                    renderedValues[index] = value;
+                    renderedOriginal[index] = original;
+                    JTextField cell = cells[row][col];
+                    CELLS_UPDATED.increment();
                 
-                if (value == 0) {
-                    cell.setText("");
-                    cell.setEditable(true);
-                    cell.setForeground(Color.BLUE);
-                } else {
-                    String text = (size == 9 || value <= 9) ? 
-                                String.valueOf(value) : 
-                                Character.toString((char)('A' + value - 10));
-                    cell.setText(text);
-                    cell.setEditable(!grid.isOriginal(row, col));
-                    cell.setForeground(grid.isOriginal(row, col) ? Color.BLACK : Color.BLUE);
+                    if (value == 0) {
+                        cell.setText("");
+                        cell.setEditable(true);
+                        cell.setForeground(Color.BLUE);
+                    } else {
+                        cell.setText(String.valueOf(PuzzleFormat.toSymbol(value)));
+                        cell.setEditable(!original);
+                        cell.setForeground(original ? Color.BLACK : Color.BLUE);
+                    }
                 }
             }
+        } finally {
+            rendering = false;
         }
-        
         if (highlightedCell != null) {
             cells[highlightedCell.x][highlightedCell.y].setBackground(Color.YELLOW);
         }
+        UPDATE_LATENCY.recordSince(start);
     }
     
+    @Override
     public void highlightCell(int row, int col) {
         // Clear previous highlight
         if (highlightedCell != null) {
-            cells[highlightedCell.x][highlightedCell.y].setBackground(Color.WHITE);
+            int previous = highlightedCell.x * size + highlightedCell.y;
+            cells[highlightedCell.x][highlightedCell.y].setBackground(
+                    conflictCells.contains(previous) ? Color.PINK : Color.WHITE);
         }
         
         // Set new highlight
         highlightedCell = new Point(row, col);
         cells[row][col].setBackground(Color.YELLOW);
     }
+    
+    @Override
+    public void highlightConflicts(Set<Integer> conflicts) {
+        for (int cell : conflictCells) {
+            cells[cell / size][cell % size].setBackground(Color.WHITE);
+        }
+        conflictCells = conflicts;
+        for (int cell : conflictCells) {
+            cells[cell / size][cell % size].setBackground(Color.PINK);
+        }
+        if (highlightedCell != null) {
+            cells[highlightedCell.x][highlightedCell.y].setBackground(Color.YELLOW);
+        }
+    }
 }
\ No newline at end of file
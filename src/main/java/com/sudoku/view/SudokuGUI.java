@@ -7,18 +7,24 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.Set;
 
 public class SudokuGUI extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final String BOARD = System.getProperty("sudoku.board", "fields");
+
     private final GameController controller;
-    private final GridPanel gridPanel;
+    private final BoardView gridPanel;
     private final JPanel controlPanel;
     private final JLabel timerLabel;
+    private final JProgressBar busyIndicator;
     
     public SudokuGUI(GameController controller) {
         this.controller = controller;
-        this.gridPanel = new GridPanel(controller);
+        this.gridPanel = "canvas".equalsIgnoreCase(BOARD) ? new BoardCanvas(controller) : new GridPanel(controller);
         this.controlPanel = new JPanel();
         this.timerLabel = new JLabel("00:00");
+        this.busyIndicator = new JProgressBar();
         
         setupUI();
     }
@@ -29,7 +35,7 @@ public class SudokuGUI extends JFrame {
         setLayout(new BorderLayout(10, 10));
         
         // Add grid panel
-        add(gridPanel, BorderLayout.CENTER);
+        add(gridPanel.asComponent(), BorderLayout.CENTER);
         
         // Setup control panel
         setupControlPanel();
@@ -67,7 +73,7 @@ public class SudokuGUI extends JFrame {
         hintBtn.addActionListener(e -> controller.provideHint());
         undoBtn.addActionListener(e -> controller.undo());
         redoBtn.addActionListener(e -> controller.redo());
-        checkBtn.addActionListener(e -> controller.checkWinCondition());
+        checkBtn.addActionListener(e -> controller.checkSolution());
         
         controlPanel.add(newGameBtn);
         controlPanel.add(hintBtn);
@@ -76,6 +82,10 @@ public class SudokuGUI extends JFrame {
         controlPanel.add(checkBtn);
         controlPanel.add(new JLabel("Time:"));
         controlPanel.add(timerLabel);
+        
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setVisible(false);
+        controlPanel.add(busyIndicator);
     }
     
     private void setupMenu() {
@@ -124,6 +134,11 @@ public class SudokuGUI extends JFrame {
         timerLabel.setText(time);
     }
     
+    public void setBusy(boolean busy) {
+        busyIndicator.setVisible(busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+    
     public void showMessage(String message) {
         JOptionPane.showMessageDialog(this, message);
     }
@@ -131,4 +146,8 @@ public class SudokuGUI extends JFrame {
     public void highlightCell(int row, int col) {
         gridPanel.highlightCell(row, col);
     }
+    
+    public void highlightConflicts(Set<Integer> cells) {
+        gridPanel.highlightConflicts(cells);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.SudokuGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveHistoryTest {
+    @Test
+    void undoAndRedoSurviveGrowth() {
+        MoveHistory history = new MoveHistory(100);
+        byte[] values = new byte[81];
+        for (int cell = 0; cell < 40; cell++) {
+            int value = cell % 9 + 1;
+            history.record(cell, 0, value, cell);
+            values[cell] = (byte) value;
+        }
+        assertEquals(40, history.getUndoDepth());
+        assertEquals(39, history.getLastTimestamp());
+
+        for (int cell = 39; cell >= 0; cell--) {
+            assertTrue(history.undo(values));
+            assertEquals(0, values[cell]);
+        }
+        assertFalse(history.undo(values));
+        assertEquals(40, history.getRedoDepth());
+
+        for (int cell = 0; cell < 40; cell++) {
+            assertTrue(history.redo(values));
+            assertEquals(cell % 9 + 1, values[cell]);
+        }
+        assertFalse(history.redo(values));
+    }
+
+    @Test
+    void oldestMoveIsEvictedAtCapacity() {
+        MoveHistory history = new MoveHistory(20);
+        byte[] values = new byte[81];
+        for (int cell = 0; cell < 25; cell++) {
+            history.record(cell, 0, 5, cell);
+            values[cell] = 5;
+        }
+        assertEquals(20, history.getUndoDepth());
+        assertEquals(24, history.getLastTimestamp());
+
+        while (history.undo(values)) {
+            // drain
+        }
+        for (int cell = 0; cell < 5; cell++) {
+            assertEquals(5, values[cell], "evicted move " + cell + " must not be undone");
+        }
+        for (int cell = 5; cell < 25; cell++) {
+            assertEquals(0, values[cell]);
+        }
+    }
+
+    @Test
+    void recordingAfterUndoDropsRedo() {
+        MoveHistory history = new MoveHistory(10);
+        SudokuGrid grid = new SudokuGrid(9);
+        grid.setValue(0, 0, 3);
+        history.record(0, 0, 3, 1);
+        grid.setValue(0, 1, 4);
+        history.record(1, 0, 4, 2);
+
+        assertTrue(history.undo(grid));
+        assertEquals(0, grid.getValue(0, 1));
+        history.record(2, 0, 7, 3);
+        assertFalse(history.canRedo());
+        assertTrue(history.undo(grid));
+        assertEquals(0, grid.getValue(0, 2));
+        assertTrue(history.undo(grid));
+        assertEquals(0, grid.getValue(0, 0));
+    }
+
+    @Test
+    void largestCellIndexFitsTheEncoding() {
+        int cell = (1 << 20) - 1;
+        byte[] values = new byte[cell + 1];
+        MoveHistory history = new MoveHistory(4);
+        history.record(cell, 36, 17, Integer.MAX_VALUE);
+        values[cell] = 17;
+
+        assertEquals(Integer.MAX_VALUE, history.getLastTimestamp());
+        assertTrue(history.undo(values));
+        assertEquals(36, values[cell]);
+        assertTrue(history.redo(values));
+        assertEquals(17, values[cell]);
+    }
+}
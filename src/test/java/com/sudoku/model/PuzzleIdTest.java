@@ -0,0 +1,75 @@
+package com.sudoku.model;
+
+import com.sudoku.utils.PuzzleFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleIdTest {
+    // Recorded from an earlier JVM run; any change here means ids no longer reproduce
+    // their puzzles and PuzzleId.GENERATOR_VERSION must be bumped.
+    private static final String[][] GOLDEN = {
+            {"v1-9EB-16-0000000000000001",
+                    "..2...57.15...8.6..7859.4.223.1.9....9..82...58...49.6...86.291...427653..591...4"},
+            {"v1-9HB-16-00000000075bcd15",
+                    "3....1.86.......24...86.....9.2.8..1.6.........36.4.52..4..2....35......6...4..3."},
+            {"v1-9MT-16-0000000000000007",
+                    ".4.....91.3...1..5.8..7.3.25....46........7.4.7.613..8..7.....9..9...18..1.54.2.7"},
+            {"v1-4MB-16-0000000000000003",
+                    "...4...31.4.42.."},
+            {"v1-9MB-4-00000000075bcd15",
+                    "3.9.21.86.......24...86.....9.238..1.6.....7...36.4.52..4..2....35.....96...4..3."},
+            {"v1-16EB-16-0000000000000005",
+                    "D....9.6..324.A..E....3CB..A85.14.........1..3C....6B.7.F.C.G..D"
+                    + "5..19..7DA.F...2....C1.26E.GF..9C8.2G..F1.5.6.D496.FE5...C..1..8"
+                    + "2.8.63G975.....E..1.A7.5.B.6...F..GC1D..92E85..3..5B.4.E...1A.2."
+                    + "81.AF.5.G.....9C.D..2.A.4.FC3.65.2...G6D5.9.7..A.5.E7..1.32.B.8."},
+    };
+
+    @Test
+    void fixedIdsProduceFixedPuzzles() {
+        for (String[] golden : GOLDEN) {
+            PuzzleId id = PuzzleId.parse(golden[0]);
+            SudokuGrid grid = new SudokuGrid(id.getSize());
+            grid.generatePuzzle(id);
+            assertEquals(golden[1], PuzzleFormat.format(grid), golden[0]);
+            assertEquals(id, grid.getPuzzleId());
+        }
+    }
+
+    @Test
+    void generatingTwiceFromTheSameSeedMatches() {
+        SudokuGrid first = new SudokuGrid(9);
+        first.generatePuzzle(DifficultyLevel.HARD, 42L);
+        SudokuGrid second = new SudokuGrid(9);
+        second.generatePuzzle(first.getPuzzleId());
+        assertEquals(PuzzleFormat.format(first), PuzzleFormat.format(second));
+    }
+
+    @Test
+    void idRoundTripsThroughText() {
+        PuzzleId id = new PuzzleId(25, DifficultyLevel.MEDIUM, GenerationStrategy.TRANSFORMATION, 7, -1L);
+        assertEquals("v1-25MT-7-ffffffffffffffff", id.toString());
+        assertEquals(id, PuzzleId.parse(id.toString()));
+    }
+
+    @Test
+    void gradeAttemptsArePartOfTheId() {
+        PuzzleId a = new PuzzleId(9, DifficultyLevel.MEDIUM, GenerationStrategy.BACKTRACKING, 16, 1L);
+        PuzzleId b = new PuzzleId(9, DifficultyLevel.MEDIUM, GenerationStrategy.BACKTRACKING, 4, 1L);
+        assertNotEquals(a, b);
+        assertNotEquals(a.toString(), b.toString());
+    }
+
+    @Test
+    void rejectsMalformedAndForeignVersionIds() {
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("9MB-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v2-9MB-16-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v1-9XB-16-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v1-9MB-0-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v1-9MB-2147483647-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v1-10MB-16-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v1-49MB-16-00000000075bcd15"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleId.parse("v1-1MB-16-00000000075bcd15"));
+    }
+}
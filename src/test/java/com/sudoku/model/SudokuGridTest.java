@@ -0,0 +1,40 @@
+package com.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SudokuGridTest {
+    @Test
+    void clearingOneOfTwoDuplicatesKeepsTheDigitUsed() {
+        SudokuGrid grid = new SudokuGrid(9);
+        grid.setValue(0, 0, 5);
+        grid.setValue(0, 8, 5);
+        assertTrue(grid.hasConflicts());
+
+        grid.setValue(0, 0, 0);
+        assertFalse(grid.hasConflicts());
+        assertFalse(grid.isValidMove(0, 4, 5));
+        assertEquals(0, grid.getCandidateMask(0, 4) & (1L << 4));
+
+        grid.setValue(0, 8, 0);
+        assertTrue(grid.isValidMove(0, 4, 5));
+    }
+
+    @Test
+    void conflictsAreCountedPerUnit() {
+        SudokuGrid grid = new SudokuGrid(9);
+        grid.setValue(0, 0, 3);
+        grid.setValue(1, 1, 3);
+        assertEquals(1, grid.getConflictCount());
+
+        grid.setValue(0, 1, 3);
+        assertEquals(3, grid.getConflictCount());
+        assertEquals(3, grid.getConflictingCells().size());
+
+        grid.setValue(0, 1, 0);
+        grid.setValue(1, 1, 0);
+        assertEquals(0, grid.getConflictCount());
+        assertTrue(grid.getConflictingCells().isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package com.sudoku.server;
+
+import com.sudoku.model.DifficultyLevel;
+import com.sudoku.model.SudokuGrid;
+import com.sudoku.utils.PuzzleFormat;
+import com.sudoku.utils.PuzzleLibrary;
+import com.sudoku.utils.PuzzleLibraryWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleServerTest {
+    private static final String SOLUTION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+    private PuzzleServer server;
+
+    @BeforeEach
+    void startServer(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("easy.lib");
+        int[][] solution = PuzzleFormat.parse(SOLUTION);
+        int[][] puzzle = PuzzleFormat.parse(SOLUTION.replace('5', '.'));
+        try (PuzzleLibraryWriter writer = new PuzzleLibraryWriter(path, 9)) {
+            writer.add(DifficultyLevel.EASY, puzzle, solution, 1, new long[] {1L, 2L});
+        }
+        server = new PuzzleServer(0, 0, 1);
+        server.setLibrary(PuzzleLibrary.open(path));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    private String get(String pathAndQuery) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://localhost:" + server.getPort() + pathAndQuery).openConnection();
+        assertEquals(200, connection.getResponseCode(), pathAndQuery);
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    void seedTakesPrecedenceOverLibrary() throws IOException {
+        SudokuGrid expected = new SudokuGrid(9);
+        expected.generatePuzzle(DifficultyLevel.EASY, 42L);
+
+        String response = get("/generate?size=9&difficulty=EASY&seed=42");
+        assertTrue(response.contains("\"puzzle\":\"" + PuzzleFormat.format(expected) + "\""), response);
+        assertTrue(response.contains("\"id\":\"" + expected.getPuzzleId() + "\""), response);
+        assertEquals(response, get("/generate?size=9&difficulty=EASY&seed=42"));
+    }
+
+    @Test
+    void libraryServesRequestsWithoutSeed() throws IOException {
+        String response = get("/generate?size=9&difficulty=EASY");
+        assertTrue(response.contains("\"puzzle\":\"" + SOLUTION.replace('5', '.') + "\""), response);
+        assertTrue(response.contains("\"index\":0"), response);
+    }
+}
@@ -0,0 +1,125 @@
+package com.sudoku.utils;
+
+import com.sudoku.model.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateCodecTest {
+    private static final String PUZZLE_ID = "v1-9MB-16-00000000075bcd15";
+
+    private static GameState sampleState(int size, String puzzleId) {
+        int[][] values = new int[size][size];
+        boolean[][] originals = new boolean[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                values[row][col] = (row * 3 + col) % (size + 1);
+                originals[row][col] = (row + col) % 3 == 0;
+            }
+        }
+        return new GameState(values, originals, 1234, puzzleId);
+    }
+
+    private static void assertSameState(GameState expected, GameState actual) {
+        assertTrue(Arrays.deepEquals(expected.getGridState(), actual.getGridState()));
+        assertTrue(Arrays.deepEquals(expected.getOriginalCells(), actual.getOriginalCells()));
+        assertEquals(expected.getElapsedTime(), actual.getElapsedTime());
+        assertEquals(expected.getPuzzleId(), actual.getPuzzleId());
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    void roundTripsWithPuzzleId() throws IOException {
+        for (int size : new int[] {4, 9, 16, 25}) {
+            GameState state = sampleState(size, size == 9 ? PUZZLE_ID : null);
+            ByteBuffer encoded = GameStateCodec.encode(state);
+            assertSameState(state, GameStateCodec.decode(encoded));
+        }
+    }
+
+    @Test
+    void loadsVersionOneFiles(@TempDir Path dir) throws IOException {
+        GameState state = sampleState(9, null);
+        byte[] v2 = toBytes(GameStateCodec.encode(state));
+        // v1 had no id trailer: same layout with the version byte set to 1 and no length byte.
+        byte[] v1 = Arrays.copyOf(v2, v2.length - 1);
+        v1[4] = 1;
+        Path path = dir.resolve("v1.dat");
+        Files.write(path, v1);
+
+        Optional<GameState> loaded = FileHandler.loadGame(path);
+        assertTrue(loaded.isPresent());
+        assertSameState(state, loaded.get());
+    }
+
+    @Test
+    void loadsLegacySerializedFiles(@TempDir Path dir) throws IOException {
+        GameState state = sampleState(9, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        Path path = dir.resolve("legacy.dat");
+        Files.write(path, bytes.toByteArray());
+
+        Optional<GameState> loaded = FileHandler.loadGame(path);
+        assertTrue(loaded.isPresent());
+        assertSameState(state, loaded.get());
+    }
+
+    @Test
+    void savedFilesLoadBack(@TempDir Path dir) throws IOException {
+        GameState state = sampleState(9, PUZZLE_ID);
+        Path path = dir.resolve("save.dat");
+        FileHandler.saveGame(state, path);
+        assertSameState(state, FileHandler.loadGame(path).orElseThrow());
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        byte[] encoded = toBytes(GameStateCodec.encode(sampleState(9, PUZZLE_ID)));
+        for (int length : new int[] {0, 3, 9, 20, encoded.length - 1}) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(encoded, length));
+            assertThrows(IOException.class, () -> GameStateCodec.decode(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsCorruptInput() {
+        byte[] encoded = toBytes(GameStateCodec.encode(sampleState(9, null)));
+
+        byte[] badMagic = encoded.clone();
+        badMagic[0] ^= 0x7F;
+        assertThrows(IOException.class, () -> GameStateCodec.decode(ByteBuffer.wrap(badMagic)));
+
+        byte[] badVersion = encoded.clone();
+        badVersion[4] = 9;
+        assertThrows(IOException.class, () -> GameStateCodec.decode(ByteBuffer.wrap(badVersion)));
+
+        byte[] badCell = encoded.clone();
+        badCell[10] = (byte) 0xF0;
+        assertThrows(IOException.class, () -> GameStateCodec.decode(ByteBuffer.wrap(badCell)));
+    }
+
+    @Test
+    void unreadableFilesLoadAsEmpty(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("garbage.dat");
+        Files.write(path, new byte[] {1, 2, 3, 4, 5});
+        assertFalse(FileHandler.loadGame(path).isPresent());
+    }
+}